@@ -0,0 +1,68 @@
+package model;
+
+/**
+ * One change to the events of a TechEvents catalog, as published to its CatalogListeners.
+ * A change names the event by ID, gives the position it was added at, removed from or changed at,
+ * and carries the snapshot of the catalog right after the change, so a listener can bring its own
+ * view up to date by touching that one position.
+ */
+public final class CatalogChange {
+
+    /**
+     * The kinds of change to a catalog.
+     */
+    public enum Kind {
+        ADDED,      // the event was added at index
+        REMOVED,    // the event at index was removed; later events moved up by one
+        CHANGED     // the event at index was modified in place
+    }
+
+    private final Kind kind;
+    private final Event event;
+    private final int index;
+    private final EventSnapshot snapshot;
+
+    /**
+     * Constructs a change of the given kind to event, at index of the catalog, leaving the catalog
+     * at snapshot.
+     */
+    CatalogChange(Kind kind, Event event, int index, EventSnapshot snapshot) {
+        this.kind = kind;
+        this.event = event;
+        this.index = index;
+        this.snapshot = snapshot;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public long getEventId() {
+        return event.getId();
+    }
+
+    public Event getEvent() {
+        return event;
+    }
+
+    // Effects - returns the position of the event: in getSnapshot() for ADDED and CHANGED, and in the
+    //           snapshot before the change for REMOVED.
+    public int getIndex() {
+        return index;
+    }
+
+    // Effects - returns the snapshot of the catalog right after the change.
+    public EventSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    // Effects - returns the version of the catalog right after the change.
+    public long getVersion() {
+        return snapshot.getVersion();
+    }
+
+    @Override
+    public String toString() {
+        return kind + " " + event.getId() + " at " + index;
+    }
+}
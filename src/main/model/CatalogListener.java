@@ -0,0 +1,13 @@
+package model;
+
+/**
+ * Receives the changes to a TechEvents catalog, one at a time and in the order they were made.
+ * Listeners are called on the thread that made the change, while it still holds whatever lock
+ * guards the catalog, so they must return quickly and must not modify the catalog; a UI listener
+ * would typically hand the change over to its own thread.
+ */
+public interface CatalogListener {
+
+    // Effects - reacts to change, which has just been made to the catalog.
+    void catalogChanged(CatalogChange change);
+}
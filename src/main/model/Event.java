@@ -1,18 +1,25 @@
 package model;
 
 import org.json.JSONObject;
+import org.json.JSONWriter;
 import persistence.Writable;
 
+import java.util.concurrent.atomic.AtomicLong;
+
 
 
 /**
  * Represents an event with details such as its name, organizer, day, time, and URL.
+ * Every event carries a stable numeric ID that persistence uses to refer to it.
  * 
  * The class provides functionality to create and manage events, including methods
  * to check if an event matches certain criteria and to retrieve or modify its attributes.
  */
 
 public class Event implements Writable {
+    private static final AtomicLong NEXT_ID = new AtomicLong(1); // next unused event ID
+
+    private final long id;
     private String name;
     private String organizer;
     private int day;
@@ -21,6 +28,7 @@ public class Event implements Writable {
 
     //CAN DELETE. 
     public Event(String name, int day) {
+        this.id = NEXT_ID.getAndIncrement();
         this.name = name;
         this.organizer = "Not Provided";
         this.day = day;
@@ -30,6 +38,7 @@ public class Event implements Writable {
 
     //CAN DELETE.
     public Event(String name, String organizer, int day) {
+        this.id = NEXT_ID.getAndIncrement();
         this.name = name;
         this.organizer = organizer;
         this.day = day;
@@ -39,6 +48,7 @@ public class Event implements Writable {
 
     //CAN DELETE.
     public Event(String name, String organizer, int day, String url) {
+        this.id = NEXT_ID.getAndIncrement();
         this.name = name;
         this.organizer = organizer;
         this.day = day;
@@ -53,12 +63,40 @@ public class Event implements Writable {
      *          and sets other fields to default values.
      */
     public Event(String name, String organizer, int day, String time, String url) {
+        this(NEXT_ID.getAndIncrement(), name, organizer, day, time, url);
+    }
+
+    /**
+     * Requires: id was previously assigned to this event (e.g. read back from a save file),
+     *           name is unique and day >= 0.
+     * Modifies: this.
+     * Effects: Initializes the Event with the given ID and fields. IDs handed out to new
+     *          events afterwards are guaranteed to be greater than id.
+     */
+    public Event(long id, String name, String organizer, int day, String time, String url) {
+        this(id, name, organizer, day, time, url, false);
+        NEXT_ID.accumulateAndGet(id + 1, Math::max);
+    }
+
+    // Effects: initializes the Event with the given ID and fields without reserving the ID.
+    private Event(long id, String name, String organizer, int day, String time, String url, boolean unused) {
+        this.id = id;
         this.name = name;
         this.organizer = organizer;
         this.day = day;
         this.time = time;
         this.url = url;
+    }
 
+    /**
+     * Requires: id belongs to an event stored elsewhere, e.g. in a catalog file being read.
+     * Modifies: none.
+     * Effects: Returns a copy of that event with the given ID and fields. Unlike the constructor,
+     *          this leaves the IDs handed out to new events afterwards unchanged, so read-only
+     *          queries can materialize events freely.
+     */
+    public static Event view(long id, String name, String organizer, int day, String time, String url) {
+        return new Event(id, name, organizer, day, time, url, false);
     }
 
     /**
@@ -82,6 +120,10 @@ public class Event implements Writable {
         this.url = url;
     }
 
+    public long getId() {
+        return id;
+    }
+
     public String getName() {
         return name;
     }
@@ -118,11 +160,12 @@ public class Event implements Writable {
     /**
      * Modifies: none.
      * Effects: Returns a JSONObject representation of the event. 
-     *          The JSON object includes the event's name, organizer, day, time, and URL as key-value pairs.
+     *          The JSON object includes the event's ID, name, organizer, day, time, and URL as key-value pairs.
      */
     @Override
     public JSONObject toJson() {
         JSONObject json = new JSONObject();
+        json.put("id", id);
         json.put("name", name);
         json.put("organizer", organizer);
         json.put("day", day);
@@ -130,6 +173,22 @@ public class Event implements Writable {
         json.put("url", url);
         return json;
     }
+
+    /**
+     * Modifies: writer.
+     * Effects: Streams the JSON representation of the event to writer.
+     */
+    @Override
+    public void writeJson(JSONWriter writer) {
+        writer.object()
+                .key("id").value(id)
+                .key("name").value(name)
+                .key("organizer").value(organizer)
+                .key("day").value(day)
+                .key("time").value(time)
+                .key("url").value(url)
+                .endObject();
+    }
     
 
 }
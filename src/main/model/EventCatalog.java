@@ -0,0 +1,24 @@
+package model;
+
+import java.util.List;
+
+/**
+ * The read-only query surface of an event catalog. Implemented by the in-memory TechEvents and by
+ * catalogs that are read straight from a file.
+ */
+public interface EventCatalog {
+
+    // Effects - returns the total number of events.
+    int getTotalNumberOfEvents();
+
+    // Requires - 0 <= x < getTotalNumberOfEvents();
+    // Effects - returns the event at given index.
+    Event getEventAtIndex(int x);
+
+    // Requires - 0 <= min, max <= 365
+    // Effects - returns the events whose day is in [min, max], ordered by day.
+    List<Event> findEventsInRange(int min, int max);
+
+    // Effects - returns the event with the specified name, or null if no such event exists.
+    Event findEventWithGivenName(String name);
+}
@@ -1,45 +1,92 @@
 package model;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
-import java.util.Collection;
+import java.util.Date;
 import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.ObjLongConsumer;
 
+/**
+ * Represents the log of system events. Entries are kept in a fixed-capacity ring buffer that any
+ * number of threads may append to without locking; once it is full the oldest entries are
+ * overwritten, so memory use stays bounded in long-running processes. Entries still in the buffer
+ * can be looked up by user, event, action and time through find(), which is backed by secondary
+ * indexes kept up to date by the queries themselves.
+ */
 public class EventLog implements Iterable<EventTracker> {
 
-    /** the only EventLog in the system (Singleton Design Pattern) */
-    private static EventLog theLog;
-    private Collection<EventTracker> events;
+    /** the number of most recent entries the log keeps */
+    public static final int CAPACITY = 1 << 16;
+
+    /**
+     * Holds the only EventLog in the system (Singleton Design Pattern). Class initialization
+     * guarantees it is created once and safely published to every thread.
+     */
+    private static final class Holder {
+        private static final EventLog THE_LOG = new EventLog();
+    }
+
+    /**
+     * One published entry of the ring buffer, tagged with the sequence number it was logged under.
+     */
+    private static final class Slot {
+        private final long sequence;
+        private final EventTracker event;
+
+        private Slot(long sequence, EventTracker event) {
+            this.sequence = sequence;
+            this.event = event;
+        }
+    }
+
+    private final AtomicReferenceArray<Slot> slots;
+    private final AtomicLong nextSequence; // sequence number the next entry will be logged under
+    private volatile long firstSequence; // sequence number of the first entry since the last clear()
+    private final EventLogIndex index; // guarded by itself
 
     /**
 	 * Prevent external construction.
 	 * (Singleton Design Pattern).
 	 */
     private EventLog() {
-        events = new ArrayList<EventTracker>();
+        slots = new AtomicReferenceArray<>(CAPACITY);
+        nextSequence = new AtomicLong(0);
+        firstSequence = 0;
+        index = new EventLogIndex();
     }
 
     /**
 	 * Gets instance of EventLog - creates it
 	 * if it doesn't already exist.
 	 * (Singleton Design Pattern)
-	 * 
+	 *
 	 * @return instance of EventLog
 	 */
     public static EventLog getInstance() {
-        if (theLog == null) {
-            theLog = new EventLog();
-        }
-        return theLog;
+        return Holder.THE_LOG;
     }
 
 
     /**
-	 * Adds an event to the event log.
-	 * 
+	 * Adds an event to the event log, overwriting the oldest entry if the log is full.
+	 * Safe to call from any thread; never blocks.
+	 *
 	 * @param e the event to be added
 	 */
     public void logEvent(EventTracker e) {
-        events.add(e);
+        long sequence = nextSequence.getAndIncrement();
+        int index = (int) (sequence & (CAPACITY - 1));
+        Slot slot = new Slot(sequence, e);
+        Slot current = slots.get(index);
+        // a producer that lapped this one may already have filled the slot with a newer entry
+        while ((current == null || current.sequence < sequence) && !slots.compareAndSet(index, current, slot)) {
+            current = slots.get(index);
+        }
     }
 
 
@@ -47,26 +94,138 @@ public class EventLog implements Iterable<EventTracker> {
 	 * Clears the event log and logs the event.
 	 */
     public void clear() {
-        events.clear();
+        firstSequence = nextSequence.get();
         logEvent(new EventTracker("Event log cleared."));
     }
 
 
-    @Override 
+    /**
+	 * Returns an iterator over a snapshot of the log: the entries logged since the last clear()
+	 * that are still in the buffer, oldest first. The snapshot stops before the first entry whose
+	 * producer has not finished publishing it, so it never has gaps.
+	 */
+    @Override
     public Iterator<EventTracker> iterator() {
-        return events.iterator();
+        return snapshot().iterator();
+    }
+
+    // Effects: copies the published entries logged since the last clear() that are still in the
+    //          buffer, in sequence order.
+    private List<EventTracker> snapshot() {
+        List<EventTracker> entries = new ArrayList<>();
+        readSince(firstSequence, entries);
+        return entries;
+    }
+
+    /**
+	 * Adds to sink, oldest first, the published entries logged under sequence numbers from sequence
+	 * onwards that are still in the buffer, regardless of clear(). Stops before the first entry whose
+	 * producer has not finished publishing it. Used by consumers that follow the log, such as a
+	 * persistent appender; never blocks producers.
+	 *
+	 * @param sequence the first sequence number wanted
+	 * @param sink where the entries are added
+	 * @return the sequence number to pass on the next call to continue after the entries read
+	 */
+    public long readSince(long sequence, List<EventTracker> sink) {
+        return visitSince(sequence, (e, s) -> sink.add(e));
+    }
+
+    // Effects: passes each published entry from sequence onwards that is still in the buffer to
+    //          visitor along with its sequence number, oldest first, stopping before the first
+    //          unpublished one; returns the sequence number to continue from.
+    private long visitSince(long sequence, ObjLongConsumer<EventTracker> visitor) {
+        long end = nextSequence.get();
+        long current = Math.max(sequence, end - CAPACITY);
+        for (; current < end; current++) {
+            Slot slot = slots.get((int) (current & (CAPACITY - 1)));
+            if (slot == null || slot.sequence < current) {
+                break;
+            }
+            if (slot.sequence == current) {
+                visitor.accept(slot.event, current);
+            }
+        }
+        return current;
+    }
+
+    /**
+	 * Returns, oldest first, the entries logged since the last clear() and still in the buffer that
+	 * match every given criterion. Uses the secondary indexes, scanning only the entries recorded
+	 * under the most selective criterion, so for example "what did user X do today" reads X's
+	 * entries rather than the whole log. Never blocks producers.
+	 *
+	 * @param userName the user involved, or null for any
+	 * @param eventName the event involved, or null for any
+	 * @param action the kind of entry, or null for any
+	 * @param from earliest time to include, or null
+	 * @param to time before which entries are included, or null
+	 * @return the matching entries
+	 */
+    public List<EventTracker> find(String userName, String eventName, EventTracker.Action action,
+                                   Date from, Date to) {
+        long fromNanos = from == null ? Long.MIN_VALUE : TimeUnit.MILLISECONDS.toNanos(from.getTime());
+        long toNanos = to == null ? Long.MAX_VALUE : TimeUnit.MILLISECONDS.toNanos(to.getTime());
+        synchronized (index) {
+            long next = visitSince(index.getIndexedUpTo(), (e, s) -> index.add(s, e));
+            long oldest = Math.max(firstSequence, nextSequence.get() - CAPACITY);
+            index.advance(next, oldest);
+            return index.find(userName, eventName, action, fromNanos, toNanos, oldest);
+        }
+    }
+
+    /**
+	 * Returns the sequence number the next logged entry will get. Entries with sequence numbers
+	 * below getNextSequence() - CAPACITY have been overwritten.
+	 */
+    public long getNextSequence() {
+        return nextSequence.get();
+    }
+
+    /**
+	 * Writes every entry of the log to out, oldest first, in the same format as toString().
+	 * Runs in time linear in the size of the log.
+	 *
+	 * @param out where the entries are written
+	 * @throws IOException if out cannot be written to
+	 */
+    public void render(Appendable out) throws IOException {
+        render(out, null, null, Integer.MAX_VALUE);
+    }
+
+    /**
+	 * Writes the most recent entries logged in [from, to) to out, oldest first, at most limit of them.
+	 * A null bound leaves that side of the window open.
+	 *
+	 * @param out where the entries are written
+	 * @param from earliest time to include, or null
+	 * @param to time before which entries are included, or null
+	 * @param limit maximum number of entries to write
+	 * @throws IOException if out cannot be written to
+	 */
+    public void render(Appendable out, Date from, Date to, int limit) throws IOException {
+        List<EventTracker> window = new ArrayList<>();
+        for (EventTracker e : snapshot()) {
+            if ((from == null || !e.getDate().before(from)) && (to == null || e.getDate().before(to))) {
+                window.add(e);
+            }
+        }
+        for (EventTracker e : window.subList(Math.max(0, window.size() - limit), window.size())) {
+            out.append(e.getDate().toString()).append('\n').append(e.getDescription()).append('\n');
+        }
     }
 
     /**
 	 * Returns a string representation of the events logged so far, for printing.
 	 */
     public String toString() {
-        String str = "";
-        for (EventTracker e: theLog) {
-            str += e.toString();
-            str += "\n";
+        StringBuilder str = new StringBuilder();
+        try {
+            render(str);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // StringBuilder never throws
         }
-        return str;
+        return str.toString();
     }
 
 }
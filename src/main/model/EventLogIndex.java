@@ -0,0 +1,159 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Secondary indexes over the entries of the EventLog: by user name, event name, action and
+ * one-minute time bucket. The index is maintained by the query side. Before each query, the
+ * EventLog feeds it the entries logged since the previous query, so producers never pay for it.
+ * Entries that have left the ring buffer are swept out regularly, so the index stays bounded
+ * along with the log. Not thread-safe; the EventLog serializes access to it.
+ */
+final class EventLogIndex {
+    static final long BUCKET_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final Map<String, Postings> byUser = new HashMap<>();
+    private final Map<String, Postings> byEvent = new HashMap<>();
+    private final Map<EventTracker.Action, Postings> byAction = new EnumMap<>(EventTracker.Action.class);
+    private final TreeMap<Long, Postings> byBucket = new TreeMap<>();
+    private long indexedUpTo = 0; // sequence number of the next entry to index
+    private long sweptUpTo = 0; // entries below this sequence number have been swept out
+
+    /**
+     * The entries with a given key, in sequence order, in growable parallel arrays.
+     */
+    private static final class Postings {
+        private long[] sequences = new long[8];
+        private EventTracker[] entries = new EventTracker[8];
+        private int head = 0;
+        private int tail = 0;
+
+        private void add(long sequence, EventTracker e) {
+            if (tail == sequences.length) {
+                int size = tail - head;
+                int capacity = size * 2 < sequences.length ? sequences.length : sequences.length * 2;
+                sequences = Arrays.copyOfRange(sequences, head, head + capacity);
+                entries = Arrays.copyOfRange(entries, head, head + capacity);
+                head = 0;
+                tail = size;
+            }
+            sequences[tail] = sequence;
+            entries[tail++] = e;
+        }
+
+        // Effects: drops the entries logged before sequence; returns true if none are left.
+        private boolean evictBefore(long sequence) {
+            while (head < tail && sequences[head] < sequence) {
+                entries[head++] = null;
+            }
+            return head == tail;
+        }
+
+        private int size() {
+            return tail - head;
+        }
+    }
+
+    // Effects: returns the sequence number of the next entry to index.
+    long getIndexedUpTo() {
+        return indexedUpTo;
+    }
+
+    /**
+     * Modifies: this
+     * Effects: Indexes e, logged under sequence, under each of its keys.
+     */
+    void add(long sequence, EventTracker e) {
+        if (e.getUserName() != null) {
+            byUser.computeIfAbsent(e.getUserName(), k -> new Postings()).add(sequence, e);
+        }
+        if (e.getEventName() != null) {
+            byEvent.computeIfAbsent(e.getEventName(), k -> new Postings()).add(sequence, e);
+        }
+        byAction.computeIfAbsent(e.getAction(), k -> new Postings()).add(sequence, e);
+        byBucket.computeIfAbsent(e.getEpochNanos() / BUCKET_NANOS, k -> new Postings()).add(sequence, e);
+    }
+
+    /**
+     * Modifies: this
+     * Effects: Records that every entry before next has been indexed, and sweeps out the entries
+     *          logged before oldest once enough of them have accumulated.
+     */
+    void advance(long next, long oldest) {
+        indexedUpTo = next;
+        if (oldest - sweptUpTo >= EventLog.CAPACITY / 2) {
+            sweep(byUser.values(), oldest);
+            sweep(byEvent.values(), oldest);
+            sweep(byAction.values(), oldest);
+            sweep(byBucket.values(), oldest);
+            sweptUpTo = oldest;
+        }
+    }
+
+    private static void sweep(Collection<Postings> lists, long oldest) {
+        lists.removeIf(p -> p.evictBefore(oldest));
+    }
+
+    /**
+     * Effects: Returns, oldest first, the indexed entries logged from sequence number oldest onwards
+     *          that match every given criterion. A null userName, eventName or action matches any
+     *          value; the time window is [fromNanos, toNanos) in nanoseconds since the epoch.
+     *          Only the smallest index list selected by the criteria is scanned.
+     */
+    List<EventTracker> find(String userName, String eventName, EventTracker.Action action,
+                            long fromNanos, long toNanos, long oldest) {
+        List<EventTracker> matches = new ArrayList<>();
+        if (fromNanos >= toNanos) {
+            return matches;
+        }
+        List<Postings> candidates = smallestCandidates(userName, eventName, action, fromNanos, toNanos);
+        for (Postings p : candidates) {
+            for (int i = p.head; i < p.tail; i++) {
+                EventTracker e = p.entries[i];
+                if (p.sequences[i] >= oldest && (userName == null || userName.equals(e.getUserName()))
+                        && (eventName == null || eventName.equals(e.getEventName()))
+                        && (action == null || action == e.getAction())
+                        && e.getEpochNanos() >= fromNanos && e.getEpochNanos() < toNanos) {
+                    matches.add(e);
+                }
+            }
+        }
+        return matches;
+    }
+
+    // Effects: returns the index lists that together hold every entry that can match, choosing the
+    //          criterion with the fewest entries; an unknown key yields no lists.
+    private List<Postings> smallestCandidates(String userName, String eventName, EventTracker.Action action,
+                                              long fromNanos, long toNanos) {
+        List<Postings> best = new ArrayList<>(byBucket.subMap(Math.floorDiv(fromNanos, BUCKET_NANOS), true,
+                Math.floorDiv(toNanos, BUCKET_NANOS), true).values());
+        int bestSize = totalSize(best);
+        for (Postings p : Arrays.asList(userName == null ? null : byUser.get(userName),
+                eventName == null ? null : byEvent.get(eventName), action == null ? null : byAction.get(action))) {
+            if (p != null && p.size() < bestSize) {
+                best = List.of(p);
+                bestSize = p.size();
+            }
+        }
+        boolean unknownKey = (userName != null && !byUser.containsKey(userName))
+                || (eventName != null && !byEvent.containsKey(eventName))
+                || (action != null && !byAction.containsKey(action));
+        return unknownKey ? List.of() : best;
+    }
+
+    private static int totalSize(List<Postings> lists) {
+        int size = 0;
+        for (Postings p : lists) {
+            size += p.size();
+        }
+        return size;
+    }
+}
@@ -0,0 +1,97 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+/**
+ * The result of a search of an event catalog by name and organizer: the events, in catalog order,
+ * whose name or organizer contains the query, ignoring case.
+ *
+ * A search is meant to be rerun on every keystroke, so it reuses the previous result where it can.
+ * When the new query contains the previous one and the catalog has not changed since, every match
+ * of the new query is already among the previous matches, so only those are scanned rather than
+ * the whole catalog. Long scans check regularly whether they have been superseded and stop early.
+ */
+public final class EventSearch {
+    private static final int CANCEL_CHECK_INTERVAL = 4096; // events scanned between cancel checks
+
+    private final String query;
+    private final long version;
+    private final List<Event> matches;
+
+    private EventSearch(String query, long version, List<Event> matches) {
+        this.query = query;
+        this.version = version;
+        this.matches = matches;
+    }
+
+    /**
+     * Requires: query != null.
+     * Effects: Returns the events of catalog whose name or organizer contains query, ignoring case
+     *          and surrounding whitespace; a blank query matches every event. Narrows previous
+     *          instead of scanning catalog when previous searched the same version of catalog for
+     *          a query that the new one contains. Returns null if cancelled returned true before the
+     *          search was done.
+     *
+     * @param catalog the snapshot of the catalog to search
+     * @param query what to look for
+     * @param previous the last search completed, or null
+     * @param cancelled tells whether the search has been superseded
+     */
+    public static EventSearch run(EventSnapshot catalog, String query, EventSearch previous,
+                                  BooleanSupplier cancelled) {
+        String trimmed = query.trim();
+        if (trimmed.isEmpty()) {
+            return new EventSearch(trimmed, catalog.getVersion(), catalog);
+        }
+        List<Event> candidates = catalog;
+        if (previous != null && previous.version == catalog.getVersion()
+                && containsIgnoreCase(trimmed, previous.query)) {
+            candidates = previous.matches;
+        }
+        List<Event> matches = new ArrayList<>();
+        int scanned = 0;
+        for (Event e : candidates) {
+            if (++scanned % CANCEL_CHECK_INTERVAL == 0 && cancelled.getAsBoolean()) {
+                return null;
+            }
+            if (matches(e, trimmed)) {
+                matches.add(e);
+            }
+        }
+        return new EventSearch(trimmed, catalog.getVersion(), Collections.unmodifiableList(matches));
+    }
+
+    // Effects: returns true if the name or organizer of e contains query, ignoring case.
+    private static boolean matches(Event e, String query) {
+        return containsIgnoreCase(e.getName(), query)
+                || (e.getOrganizer() != null && containsIgnoreCase(e.getOrganizer(), query));
+    }
+
+    // Effects: returns true if text contains part, ignoring case, without copying either string.
+    private static boolean containsIgnoreCase(String text, String part) {
+        for (int i = 0; i + part.length() <= text.length(); i++) {
+            if (text.regionMatches(true, i, part, 0, part.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Effects: returns the query searched for, without surrounding whitespace.
+    public String getQuery() {
+        return query;
+    }
+
+    // Effects: returns the version of the catalog that was searched.
+    public long getVersion() {
+        return version;
+    }
+
+    // Effects: returns the matching events in catalog order; the list never changes.
+    public List<Event> getMatches() {
+        return matches;
+    }
+}
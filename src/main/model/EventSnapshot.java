@@ -0,0 +1,229 @@
+package model;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * An immutable, versioned snapshot of an event catalog, in insertion order.
+ *
+ * The events are stored in a 32-way trie indexed by the order in which they were added. Adding or
+ * removing an event copies only the path from the root to the affected leaf and shares every other
+ * node with the previous snapshot, so a new version costs O(log32 n) rather than a full copy, and
+ * a snapshot that has been handed out never changes. Removed events leave an empty slot (a
+ * tombstone) until the catalog is compacted; every node counts the events below it, so positional
+ * access skips tombstones in logarithmic time.
+ */
+public final class EventSnapshot extends AbstractList<Event> {
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+
+    /** The snapshot with no events, at version 0. */
+    public static final EventSnapshot EMPTY = new EventSnapshot(new Node(new Object[0], 0), 0, 0, 0);
+
+    /**
+     * A trie node: Nodes in a branch, Events (null for a tombstone) in a leaf, with the number of
+     * events below it.
+     */
+    private static final class Node {
+        private final Object[] children;
+        private final int live;
+
+        private Node(Object[] children, int live) {
+            this.children = children;
+            this.live = live;
+        }
+    }
+
+    private final Node root;
+    private final int shift; // BITS times the number of branch levels above the leaves
+    private final int slots; // number of slots used so far, tombstones included
+    private final long version;
+
+    private EventSnapshot(Node root, int shift, int slots, long version) {
+        this.root = root;
+        this.shift = shift;
+        this.slots = slots;
+        this.version = version;
+    }
+
+    // Effects: returns the number of events in this snapshot.
+    @Override
+    public int size() {
+        return root.live;
+    }
+
+    // Effects: returns the version of the catalog this snapshot was taken at; every change to the
+    //          catalog produces a snapshot with a higher version.
+    public long getVersion() {
+        return version;
+    }
+
+    // Effects: returns the number of slots used, tombstones included; the next event added goes
+    //          into slot getSlotCount().
+    int getSlotCount() {
+        return slots;
+    }
+
+    /**
+     * Requires - 0 <= index < size()
+     * Effects - returns the event at the given position, counting only events that were not removed.
+     */
+    @Override
+    public Event get(int index) {
+        if (index < 0 || index >= root.live) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + root.live);
+        }
+        Node node = root;
+        for (int level = shift; level > 0; level -= BITS) {
+            int i = 0;
+            Node child = (Node) node.children[0];
+            while (index >= child.live) {
+                index -= child.live;
+                child = (Node) node.children[++i];
+            }
+            node = child;
+        }
+        for (Object o : node.children) {
+            if (o != null && index-- == 0) {
+                return (Event) o;
+            }
+        }
+        throw new IllegalStateException("Live counts do not match the leaf contents");
+    }
+
+    /**
+     * Requires - the given slot holds an event.
+     * Effects - returns the position of the event in the given slot among the events of this
+     *           snapshot, adding up the live counts of the subtrees to its left.
+     */
+    int indexOfSlot(int slot) {
+        int index = 0;
+        Node node = root;
+        for (int level = shift; level > 0; level -= BITS) {
+            int i = (slot >>> level) & MASK;
+            for (int c = 0; c < i; c++) {
+                index += ((Node) node.children[c]).live;
+            }
+            node = (Node) node.children[i];
+        }
+        for (int c = 0; c < (slot & MASK); c++) {
+            if (node.children[c] != null) {
+                index++;
+            }
+        }
+        return index;
+    }
+
+    // Effects - returns the leaf holding the given slot.
+    private Object[] leafFor(int slot) {
+        Node node = root;
+        for (int level = shift; level > 0; level -= BITS) {
+            node = (Node) node.children[(slot >>> level) & MASK];
+        }
+        return node.children;
+    }
+
+    // Effects - returns the event in the given slot, or null if it was removed.
+    Event getSlot(int slot) {
+        return (Event) leafFor(slot)[slot & MASK];
+    }
+
+    /**
+     * Effects - returns a snapshot one version later with e added after every existing slot.
+     */
+    EventSnapshot append(Event e) {
+        Node newRoot = root;
+        int newShift = shift;
+        if (slots == 1 << (shift + BITS)) {
+            newRoot = new Node(new Object[] {root}, root.live);
+            newShift += BITS;
+        }
+        return new EventSnapshot(appendTo(newRoot, newShift, slots, e), newShift, slots + 1, version + 1);
+    }
+
+    // Effects - returns a copy of node (or a new node, if node is null) with e stored at slot.
+    private static Node appendTo(Node node, int level, int slot, Event e) {
+        int i = (slot >>> level) & MASK;
+        Object[] children = node == null ? new Object[1] : Arrays.copyOf(node.children,
+                Math.max(node.children.length, i + 1));
+        children[i] = level == 0 ? e : appendTo((Node) children[i], level - BITS, slot, e);
+        return new Node(children, (node == null ? 0 : node.live) + 1);
+    }
+
+    /**
+     * Requires - the given slot holds an event.
+     * Effects - returns a snapshot one version later with the event in the given slot removed.
+     */
+    EventSnapshot removeSlot(int slot) {
+        return new EventSnapshot(removeFrom(root, shift, slot), shift, slots, version + 1);
+    }
+
+    // Effects - returns a copy of node with the event at slot replaced by a tombstone.
+    private static Node removeFrom(Node node, int level, int slot) {
+        int i = (slot >>> level) & MASK;
+        Object[] children = node.children.clone();
+        children[i] = level == 0 ? null : removeFrom((Node) children[i], level - BITS, slot);
+        return new Node(children, node.live - 1);
+    }
+
+    /**
+     * Effects - returns a snapshot one version later holding the same events in the same slots, for
+     *           when one of the events was modified in place.
+     */
+    EventSnapshot nextVersion() {
+        return new EventSnapshot(root, shift, slots, version + 1);
+    }
+
+    /**
+     * Effects - returns a snapshot one version later holding the same events in the same order,
+     *           without tombstones.
+     */
+    EventSnapshot compact() {
+        EventSnapshot compacted = EMPTY;
+        for (Event e : this) {
+            compacted = compacted.append(e);
+        }
+        return new EventSnapshot(compacted.root, compacted.shift, compacted.slots, version + 1);
+    }
+
+    // Effects - returns an iterator over the events in insertion order that reads each leaf once.
+    @Override
+    public Iterator<Event> iterator() {
+        return new Iterator<Event>() {
+            private int slot = 0;
+            private Object[] leaf;
+            private Event next = advance();
+
+            private Event advance() {
+                while (slot < slots) {
+                    if ((slot & MASK) == 0 || leaf == null) {
+                        leaf = leafFor(slot);
+                    }
+                    Event e = (Event) leaf[slot++ & MASK];
+                    if (e != null) {
+                        return e;
+                    }
+                }
+                return null;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public Event next() {
+                if (next == null) {
+                    throw new NoSuchElementException();
+                }
+                Event e = next;
+                next = advance();
+                return e;
+            }
+        };
+    }
+}
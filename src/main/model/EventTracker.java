@@ -1,18 +1,59 @@
 package model;
 
 
-import java.util.Calendar;
 import java.util.Date;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 
 
 /**
- * Represents an system event.
+ * Represents an system event. An entry stores when it was logged (in nanoseconds since the epoch),
+ * what kind of action it records and references to the names involved; the human-readable
+ * description is only built when someone reads it.
  */
 
 public class EventTracker {
     private static final int HASH_CONSTANT = 13;
-    private Date dateLogged;
-    private String description;
+
+    // wall-clock time of class initialization, advanced with the monotonic clock so that logging
+    // an entry only costs a System.nanoTime() call
+    private static final long BASE_EPOCH_NANOS = TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis());
+    private static final long BASE_NANO_TIME = System.nanoTime();
+
+    /**
+     * The kinds of action an entry can record, each with the way its description is worded.
+     */
+    public enum Action {
+        MESSAGE,
+        EVENT_ADDED,
+        EVENT_REMOVED,
+        USER_ADDED,
+        EVENT_ADDED_TO_USER;
+
+        // Requires: this != MESSAGE (a message is given its description when it is created)
+        // Effects: returns the description of this action applied to the given arguments.
+        private String describe(String userName, String eventName, int day) {
+            switch (this) {
+                case EVENT_ADDED:
+                    return "Added event to general calendar: " + eventName + " on Day " + day;
+                case EVENT_REMOVED:
+                    return "Removed event from calendar: " + eventName + " from Day " + day;
+                case USER_ADDED:
+                    return "Added user: " + userName + " on the list of user!";
+                case EVENT_ADDED_TO_USER:
+                    return "Added event to user's calendar: User - " + userName + " | Event - " + eventName;
+                default:
+                    throw new IllegalStateException("No wording for " + this);
+            }
+        }
+    }
+
+    private final long epochNanos;
+    private final Action action;
+    private final String userName;
+    private final String eventName;
+    private final int day;
+    private String description; // given for a MESSAGE, otherwise built on first use
 
     /**
 	 * Creates an event with the given description
@@ -20,7 +61,28 @@ public class EventTracker {
 	 * @param description  a description of the event
 	 */
     public EventTracker(String description) {
-        dateLogged = Calendar.getInstance().getTime();
+        this(Action.MESSAGE, null, null, 0, description);
+    }
+
+    /**
+	 * Creates an entry recording action with the current date/time stamp.
+	 * @param action  what happened, other than MESSAGE
+	 * @param userName  the name of the user involved, or null
+	 * @param eventName  the name of the event involved, or null
+	 * @param day  the day of the event involved
+	 */
+    public EventTracker(Action action, String userName, String eventName, int day) {
+        this(action, userName, eventName, day, null);
+    }
+
+    // Effects: creates an entry recording action with the current date/time stamp, whose
+    //          description is built on first use if it is null.
+    private EventTracker(Action action, String userName, String eventName, int day, String description) {
+        this.epochNanos = BASE_EPOCH_NANOS + (System.nanoTime() - BASE_NANO_TIME);
+        this.action = action;
+        this.userName = userName;
+        this.eventName = eventName;
+        this.day = day;
         this.description = description;
     }
 
@@ -29,15 +91,44 @@ public class EventTracker {
 	 * @return  the date of the event
 	 */
     public Date getDate() {
-        return dateLogged;
+        return new Date(TimeUnit.NANOSECONDS.toMillis(epochNanos));
     }
 
     /**
-	 * Gets the description of this event.
+	 * Gets the time this event was logged, in nanoseconds since the epoch.
+	 * @return  the time stamp of the event
+	 */
+    public long getEpochNanos() {
+        return epochNanos;
+    }
+
+    public Action getAction() {
+        return action;
+    }
+
+    public String getUserName() {
+        return userName;
+    }
+
+    public String getEventName() {
+        return eventName;
+    }
+
+    public int getDay() {
+        return day;
+    }
+
+    /**
+	 * Gets the description of this event, building it on first use.
 	 * @return  the description of the event
 	 */
     public String getDescription() {
-        return description;
+        String d = description;
+        if (d == null) {
+            d = action.describe(userName, eventName, day);
+            description = d; // racing threads build equal strings
+        }
+        return d;
     }
 
     @Override
@@ -52,19 +143,19 @@ public class EventTracker {
 
         EventTracker otherEvent = (EventTracker) other;
 
-        return (this.dateLogged.equals(otherEvent.dateLogged) 
-            && this.description.equals(otherEvent.description));
+        return (this.epochNanos == otherEvent.epochNanos
+            && this.getDescription().equals(otherEvent.getDescription()));
     }
 
     @Override
     public int hashCode() {
-        return (HASH_CONSTANT * dateLogged.hashCode() + description.hashCode());
+        return (HASH_CONSTANT * Long.hashCode(epochNanos) + Objects.hashCode(getDescription()));
     }
 
     @Override
     public String toString() {
-        return dateLogged.toString() + "\n" + description;
+        return getDate().toString() + "\n" + getDescription();
     }
 
     
-}
\ No newline at end of file
+}
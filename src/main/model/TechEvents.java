@@ -4,10 +4,15 @@ package model;
 
 import org.json.JSONArray;
 import org.json.JSONObject;
+import org.json.JSONWriter;
 import persistence.Writable;
 
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 
 
@@ -16,10 +21,23 @@ import java.util.List;
 /**
  * Represents a collection of technical events and provides methods to
  * manage and query events based on various criteria.
+ * The events themselves are published as immutable EventSnapshots: readers take the current
+ * snapshot in O(1) and can walk it without locking while a writer builds the next version.
+ * Every addition and removal is also published to the registered CatalogListeners as a
+ * CatalogChange, so views of the catalog can update the one affected row.
  */
 
-public class TechEvents implements Writable {
-    private List<Event> listOfEvents;
+public class TechEvents implements Writable, EventCatalog {
+    public static final int FIRST_DAY = 0;
+    public static final int LAST_DAY = 365;
+
+    private volatile EventSnapshot listOfEvents; // replaced, never modified, on every change
+    private Map<Long, Integer> slotsById; // ID -> slot of the event in listOfEvents
+    private Map<String, List<Event>> eventsByName; // name -> events with it, in insertion order
+    private Map<Long, Event> eventsById; // ID -> event, kept in sync with listOfEvents
+    private List<List<Event>> eventsByDay; // one bucket per day in [FIRST_DAY, LAST_DAY]
+    private List<Event> eventsOutsideYear; // events whose day falls outside the bucketed domain
+    private final List<CatalogListener> listeners = new CopyOnWriteArrayList<>();
 
     /**
      * Constructs an empty list of events.
@@ -29,77 +47,209 @@ public class TechEvents implements Writable {
      * Effects: Initializes an empty list of events.
      */
     public TechEvents() {
-        listOfEvents = new ArrayList<>();
+        listOfEvents = EventSnapshot.EMPTY;
+        slotsById = new HashMap<>();
+        eventsByName = new HashMap<>();
+        eventsById = new HashMap<>();
+        eventsByDay = new ArrayList<>(LAST_DAY - FIRST_DAY + 1);
+        for (int day = FIRST_DAY; day <= LAST_DAY; day++) {
+            eventsByDay.add(new ArrayList<>());
+        }
+        eventsOutsideYear = new ArrayList<>();
     }
 
+    // Effects - returns the current snapshot of the events, in insertion order. The snapshot does
+    //           not change when events are added or removed later.
     public List<Event> getEvents() {
         return listOfEvents;
     }
 
+    // Effects - returns the current snapshot of the events together with its version.
+    public EventSnapshot snapshot() {
+        return listOfEvents;
+    }
+
     // Modifies - this.
-    // Effects - Adds a new event to the listOfEvents;
+    // Effects - Adds a new event to the listOfEvents and indexes it by ID, name and day. If events
+    //           with the same name are already indexed, the earliest one stays the lookup result.
     public void addEvent(Event e) {
-        listOfEvents.add(e);
-        
+        slotsById.put(e.getId(), listOfEvents.getSlotCount());
+        listOfEvents = listOfEvents.append(e);
+        eventsByName.computeIfAbsent(e.getName(), name -> new ArrayList<>(1)).add(e);
+        eventsById.put(e.getId(), e);
+        bucketFor(e.getDay()).add(e);
+        publish(CatalogChange.Kind.ADDED, e, listOfEvents.size() - 1);
+    }
+
+    // Modifies - this.
+    // Effects - registers listener to be told about every later change to this catalog.
+    public void addListener(CatalogListener listener) {
+        listeners.add(listener);
+    }
+
+    // Modifies - this.
+    // Effects - stops telling listener about changes to this catalog.
+    public void removeListener(CatalogListener listener) {
+        listeners.remove(listener);
+    }
+
+    // Effects - tells the listeners that e was added, removed or changed at index; the catalog is
+    //           already at its new snapshot.
+    private void publish(CatalogChange.Kind kind, Event e, int index) {
+        if (listeners.isEmpty()) {
+            return;
+        }
+        CatalogChange change = new CatalogChange(kind, e, index, listOfEvents);
+        for (CatalogListener listener : listeners) {
+            listener.catalogChanged(change);
+        }
+    }
+
+    /**
+     * Requires: the event with the given ID was modified in place (for example with setOrganizer).
+     * Modifies: this.
+     * Effects: Moves the catalog to a new version and tells the listeners that the event changed;
+     *          returns false, changing nothing, if this catalog does not hold the event.
+     */
+    public boolean eventChanged(long id) {
+        Integer slot = slotsById.get(id);
+        if (slot == null) {
+            return false;
+        }
+        listOfEvents = listOfEvents.nextVersion();
+        publish(CatalogChange.Kind.CHANGED, eventsById.get(id), listOfEvents.indexOfSlot(slot));
+        return true;
+    }
+
+    // Effects - returns the day bucket holding events on the given day, or the overflow
+    //           list when the day is outside [FIRST_DAY, LAST_DAY].
+    private List<Event> bucketFor(int day) {
+        if (day < FIRST_DAY || day > LAST_DAY) {
+            return eventsOutsideYear;
+        }
+        return eventsByDay.get(day - FIRST_DAY);
     }
 
     // Modifies - EventLog
     // Effects - Logs the specific event addition to the calender. 
     public void logEventAddition(Event e) {
         EventLog.getInstance().logEvent(
-					new EventTracker("Added event to general calendar: " 
-                    + e.getName() + " on Day " + e.getDay()));
+					new EventTracker(EventTracker.Action.EVENT_ADDED, null, e.getName(), e.getDay()));
     }
 
     // Effects - returns the total number of events;
+    @Override
     public int getTotalNumberOfEvents() {
         return listOfEvents.size();
     }
 
     // Requires - 0 <= x < size;
     // Effects - returns the event at given index.
+    @Override
     public Event getEventAtIndex(int x) {
         return listOfEvents.get(x);
     }
 
     // Requires - 0 <= min, max <= 365
     // Modifies - none.
-    // Effect - returns a list of events that are in the date range. 
+    // Effect - returns a list of events that are in the date range, ordered by day. Only the
+    //          day buckets between min and max are visited.
+    @Override
     public List<Event> findEventsInRange(int min, int max) {
         List<Event> eventsInRange = new ArrayList<>();
-        for (Event e: listOfEvents) {
-            if (e.isInRange(min, max)) {
-                eventsInRange.add(e);
+        for (int day = Math.max(min, FIRST_DAY); day <= Math.min(max, LAST_DAY); day++) {
+            eventsInRange.addAll(eventsByDay.get(day - FIRST_DAY));
+        }
+        if (min < FIRST_DAY || max > LAST_DAY) {
+            for (Event e: eventsOutsideYear) {
+                if (e.isInRange(min, max)) {
+                    eventsInRange.add(e);
+                }
             }
+            eventsInRange.sort(Comparator.comparingInt(Event::getDay));
         }
         return eventsInRange;
     }
 
     // Modifies - this.
-    // Effects - Removes an event from the listOfEvents by its name.
+    // Effects - Removes an event from the listOfEvents by its name; when several events have that
+    //           name, the earliest one added is removed and the next one becomes the lookup result.
     public boolean removeEvent(String name) {
-        Event eventToRemove = findEventWithGivenName(name);
+        Event eventToRemove = removeFromNameIndex(name);
         if (eventToRemove != null) {
-            listOfEvents.remove(eventToRemove);
+            int slot = slotsById.remove(eventToRemove.getId());
+            int index = listOfEvents.indexOfSlot(slot);
+            listOfEvents = listOfEvents.removeSlot(slot);
+            if (listOfEvents.getSlotCount() > 2 * listOfEvents.size() + 32) {
+                compact();
+            }
+            eventsById.remove(eventToRemove.getId());
+            bucketFor(eventToRemove.getDay()).remove(eventToRemove);
+            publish(CatalogChange.Kind.REMOVED, eventToRemove, index);
             EventLog.getInstance().logEvent(
-					new EventTracker("Removed event from calendar: " + eventToRemove.getName() 
-                        + " from Day " + eventToRemove.getDay()));
+					new EventTracker(EventTracker.Action.EVENT_REMOVED, null, eventToRemove.getName(),
+                        eventToRemove.getDay()));
             return true; // Event was found and removed
         }
         return false; // Event was not found
     }
 
+    // Modifies - this.
+    // Effects - removes and returns the earliest event indexed under name, or null if there is none.
+    private Event removeFromNameIndex(String name) {
+        List<Event> named = eventsByName.get(name);
+        if (named == null) {
+            return null;
+        }
+        Event first = named.remove(0);
+        if (named.isEmpty()) {
+            eventsByName.remove(name);
+        }
+        return first;
+    }
+
+    // Modifies - this.
+    // Effects - publishes a snapshot without the slots of removed events and renumbers the slots.
+    //           Runs once tombstones outnumber the events, so its cost is amortized over the removals.
+    private void compact() {
+        EventSnapshot compacted = listOfEvents.compact();
+        slotsById.clear();
+        for (int slot = 0; slot < compacted.getSlotCount(); slot++) {
+            slotsById.put(compacted.getSlot(slot).getId(), slot);
+        }
+        listOfEvents = compacted;
+    }
+
     /**
-     * Finds an event by its name.
+     * Finds an event by its name using the name index.
      * Effects: Returns the event with the specified name, or null if no such event exists.
      */
+    @Override
     public Event findEventWithGivenName(String name) {
-        for (Event e: listOfEvents) {
-            if (e.isCorrectEvent(name)) {
-                return e;
-            }
+        List<Event> named = eventsByName.get(name);
+        return named == null ? null : named.get(0);
+    }
+
+    /**
+     * Finds an event by its ID.
+     * Effects: Returns the event with the specified ID, or null if no such event exists.
+     */
+    public Event findEventWithId(long id) {
+        return eventsById.get(id);
+    }
+
+    /**
+     * Effects: Returns a JSON array holding the IDs of the events in this TechEvents object,
+     *          in list order. Used to store a calendar as references into the global catalog.
+     */
+    public JSONArray eventIdsToJson() {
+        JSONArray jsonArray = new JSONArray();
+
+        for (Event e : listOfEvents) {
+            jsonArray.put(e.getId());
         }
-        return null;
+
+        return jsonArray;
     }
 
     /**
@@ -115,6 +265,32 @@ public class TechEvents implements Writable {
         return json;
     }
 
+    /**
+     * Modifies: writer.
+     * Effects: Streams the JSON representation of the TechEvents object to writer,
+     *          one event at a time.
+     */
+    @Override
+    public void writeJson(JSONWriter writer) {
+        writer.object().key("listofevents").array();
+        for (Event e : listOfEvents) {
+            e.writeJson(writer);
+        }
+        writer.endArray().endObject();
+    }
+
+    /**
+     * Modifies: writer.
+     * Effects: Streams the IDs of the events in this TechEvents object to writer as a JSON array.
+     */
+    public void writeEventIds(JSONWriter writer) {
+        writer.array();
+        for (Event e : listOfEvents) {
+            writer.value(e.getId());
+        }
+        writer.endArray();
+    }
+
     /**
      * Converts the list of events to a JSON array.
      * Effects: Returns a JSON array representation of the events in this TechEvents object.
@@ -1,12 +1,14 @@
 package model;
 
 import org.json.JSONObject;
+import org.json.JSONWriter;
 import persistence.Writable;
 
 /**
  * Represents a user in the system who is associated with tech events.
  * A user has a unique name, a category (such as "Student", "Staff", or "Organizer"), 
- * and a list of tech events they are involved with.
+ * and a list of tech events they are involved with. The events in a user's calendar are the
+ * same instances held by the global catalog; persistence stores them as event ID references.
  */
 
 public class User implements Writable {
@@ -14,7 +16,7 @@ public class User implements Writable {
     private String name;
     private String category;
     private TechEvents events;
-
+    private Users owner; // the Users collection indexing this user by name, if any
 
 
     // Requires - category can only be of "Student", "Staff", "Organizer" type. Name must be unique.
@@ -31,8 +33,20 @@ public class User implements Writable {
         return name;
     }
 
+    // Modifies - this, owner
+    // Effects - Renames the user and keeps the owning Users name index consistent.
     public void setNewName(String name) {
+        String oldName = this.name;
         this.name = name;
+        if (owner != null) {
+            owner.userRenamed(this, oldName);
+        }
+    }
+
+    // Modifies - this
+    // Effects - Records the Users collection that indexes this user by name.
+    void setOwner(Users owner) {
+        this.owner = owner;
     }
 
     public String getCategory() {
@@ -43,16 +57,27 @@ public class User implements Writable {
         return events;
     }
 
+    // Modifies - this
+    // Effects - registers listener to be told about every later change to the user's calendar.
+    public void addCalendarListener(CatalogListener listener) {
+        events.addListener(listener);
+    }
+
+    // Modifies - this
+    // Effects - stops telling listener about changes to the user's calendar.
+    public void removeCalendarListener(CatalogListener listener) {
+        events.removeListener(listener);
+    }
+
     /**
      * Effects: Returns a string representation of all the events in the user's calendar.
      */
     public String getStringOfEventsInCalender() {
-        String s = "";
+        StringBuilder s = new StringBuilder();
         for (Event e: events.getEvents()) {
-            s += e.toString();
-            s += "\n";
+            s.append(e.toString()).append("\n");
         }
-        return s;
+        return s.toString();
     }
 
     /**
@@ -63,8 +88,7 @@ public class User implements Writable {
     public  void addEvent(Event e) {
         events.addEvent(e);
         EventLog.getInstance().logEvent(
-					new EventTracker("Added event to user's calendar: User - " + getName() 
-                    + " | Event - " + e.getName()));
+					new EventTracker(EventTracker.Action.EVENT_ADDED_TO_USER, getName(), e.getName(), e.getDay()));
     }
 
     /**
@@ -79,17 +103,30 @@ public class User implements Writable {
     /**
      * Modifies: none.
      * Effects: Returns a JSONObject representation of the User object. 
-     *          The JSON object contains the user's name, category, and the JSON representation 
-     *          of their associated events. The events are converted using the `toJson()` method 
-     *          of the `TechEvents` class.
+     *          The JSON object contains the user's name, category, and the IDs of the events
+     *          in their calendar, which refer to events in the global catalog.
      */
     @Override
     public JSONObject toJson() {
         JSONObject json = new JSONObject();
         json.put("name", name);
         json.put("category", category);
-        json.put("events", events.toJson());
+        json.put("eventids", events.eventIdsToJson());
         return json;
     }
 
+    /**
+     * Modifies: writer.
+     * Effects: Streams the JSON representation of the User object to writer.
+     */
+    @Override
+    public void writeJson(JSONWriter writer) {
+        writer.object()
+                .key("name").value(name)
+                .key("category").value(category)
+                .key("eventids");
+        events.writeEventIds(writer);
+        writer.endObject();
+    }
+
 }
@@ -2,10 +2,14 @@ package model;
 
 import org.json.JSONArray;
 import org.json.JSONObject;
+import org.json.JSONWriter;
 import persistence.Writable;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Represents a collection of users. 
@@ -15,7 +19,8 @@ import java.util.List;
 
 public class Users implements Writable {
 
-    private List<User> listOfUsers;
+    private List<User> listOfUsers; // insertion order, used by getUsers() and toJson()
+    private Map<String, User> usersByName; // name -> user, kept in sync with listOfUsers
 
     
     /**
@@ -23,29 +28,35 @@ public class Users implements Writable {
      */
     public Users() {
         listOfUsers = new ArrayList<>();
+        usersByName = new HashMap<>();
     }
 
+    // Effects: returns a read-only view of the users, in insertion order.
     public List<User> getUsers() {
-        return listOfUsers;
+        return Collections.unmodifiableList(listOfUsers);
     }
 
     /**
      * Effects: If the user is not already in the list, the user is added to the list.
      */
     public void addUser(User u) {
-
-        boolean b = true;
-        for (User e: listOfUsers) {
-            if (e.getName().equals(u.getName())) {
-                b = false;
-            }
-        }
-        if (b) {
+        if (usersByName.putIfAbsent(u.getName(), u) == null) {
             listOfUsers.add(u);
+            u.setOwner(this);
             EventLog.getInstance().logEvent(
-					new EventTracker("Added user: " + u.getName() + " on the list of user!"));
+					new EventTracker(EventTracker.Action.USER_ADDED, u.getName(), null, 0));
         }
+    }
 
+    /**
+     * Requires: u is part of this collection and was previously known as oldName.
+     * Modifies: this.
+     * Effects: Re-keys the name index after u has been renamed. If another user already
+     *          holds the new name, that user stays the lookup result for it.
+     */
+    void userRenamed(User u, String oldName) {
+        usersByName.remove(oldName, u);
+        usersByName.putIfAbsent(u.getName(), u);
     }
 
     /**
@@ -61,12 +72,7 @@ public class Users implements Writable {
      * Effects: Returns the user with the specified name, or null if no user is found.
      */
     public User findUser(String name) {
-        for (User u: listOfUsers) {
-            if (u.isRightUser(name)) {
-                return u;
-            }
-        }
-        return null;
+        return usersByName.get(name);
     }
 
     /**
@@ -82,6 +88,19 @@ public class Users implements Writable {
         return json;
     }
 
+    /**
+     * Modifies: writer.
+     * Effects: Streams the JSON representation of the Users object to writer, one user at a time.
+     */
+    @Override
+    public void writeJson(JSONWriter writer) {
+        writer.object().key("users").array();
+        for (User u : listOfUsers) {
+            u.writeJson(writer);
+        }
+        writer.endArray().endObject();
+    }
+
     /**
      * Converts the list of users to a JSON array.
      * Effects: Returns a JSON array representation of the users in this Users object.
@@ -0,0 +1,111 @@
+package persistence;
+
+import model.Event;
+import model.TechEvents;
+import model.User;
+import model.Users;
+import ui.TechEventsHubAppRunner;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.function.Consumer;
+
+/**
+ * Utility class for reading binary snapshots written by BinaryWriter and converting them into
+ * application objects. Events and users are built one record at a time.
+ */
+public class BinaryReader {
+
+    private final String source;
+
+    /**
+     * Constructs a BinaryReader to read from the specified source file.
+     *
+     * @param source the path to the binary snapshot
+     */
+    public BinaryReader(String source) {
+        this.source = source;
+    }
+
+    /**
+     * Modifies: none.
+     * Effects: Verifies the checksum of the snapshot at the source path, reads its dictionary,
+     *          events, calendar-only events (from version 2 on) and users, and returns a
+     *          TechEventsHubAppRunner holding them. Calendar entries are resolved to the shared
+     *          catalog or calendar-only instances; calendar-only events stay out of the catalog.
+     *          Throws an IOException if the file cannot be read, is not a binary snapshot, or is damaged.
+     */
+    public TechEventsHubAppRunner read() throws IOException {
+        Path path = Paths.get(source);
+        long length = SnapshotFile.verify(path);
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(SnapshotFile.openPayload(path, length), 1 << 16))) {
+            int magic = in.readInt();
+            short version = in.readShort();
+            if (magic != BinaryWriter.MAGIC || version < 1 || version > BinaryWriter.VERSION) {
+                throw new IOException("Not a binary snapshot: " + source);
+            }
+            String[] dictionary = new String[in.readInt()];
+            for (int i = 0; i < dictionary.length; i++) {
+                dictionary[i] = readString(in);
+            }
+            TechEvents techEvents = new TechEvents();
+            readEvents(in, dictionary, techEvents::addEvent);
+            CalendarEvents calendarEvents = new CalendarEvents(techEvents);
+            if (version >= 2) {
+                readEvents(in, dictionary, calendarEvents::addCalendarOnly);
+            }
+            Users users = readUsers(in, dictionary, calendarEvents);
+            return new TechEventsHubAppRunner(techEvents, users);
+        } catch (ArrayIndexOutOfBoundsException | NegativeArraySizeException e) {
+            throw new IOException("Damaged binary snapshot: " + source);
+        }
+    }
+
+    // Effects: reads an event count and that many event records, passing each event to sink.
+    private void readEvents(DataInputStream in, String[] dictionary, Consumer<Event> sink) throws IOException {
+        int count = in.readInt();
+        for (int i = 0; i < count; i++) {
+            in.readInt(); // record length, only needed to skip records
+            long id = in.readLong();
+            int day = in.readInt();
+            String name = readString(in);
+            String organizer = dictionary[in.readInt()];
+            String time = dictionary[in.readInt()];
+            String url = dictionary[in.readInt()];
+            sink.accept(new Event(id, name, organizer, day, time, url));
+        }
+    }
+
+    // Effects: reads the user count and that many user records, resolving calendar event IDs
+    //          against calendarEvents.
+    private Users readUsers(DataInputStream in, String[] dictionary, CalendarEvents calendarEvents)
+            throws IOException {
+        Users users = new Users();
+        int count = in.readInt();
+        for (int i = 0; i < count; i++) {
+            in.readInt(); // record length, only needed to skip records
+            User user = new User(readString(in), dictionary[in.readInt()]);
+            int calendarSize = in.readInt();
+            for (int j = 0; j < calendarSize; j++) {
+                Event event = calendarEvents.resolve(in.readLong());
+                if (event != null) {
+                    user.addEvent(event);
+                }
+            }
+            users.addUser(user);
+        }
+        return users;
+    }
+
+    // Effects: reads a string written as its UTF-8 byte length followed by the bytes.
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
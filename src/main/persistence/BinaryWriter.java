@@ -0,0 +1,182 @@
+package persistence;
+
+import model.Event;
+import model.User;
+import ui.TechEventsHubAppRunner;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Represents a writer that writes a compact binary snapshot of the application to a file.
+ * The layout is:
+ *   magic "TEHB", version
+ *   string dictionary: count, then each string (organizer, time, url and category values)
+ *   events: count, then one length-prefixed record per event
+ *           (id, day, name, organizer index, time index, url index)
+ *   calendar-only events: the events of users' calendars that are no longer in the catalog,
+ *           as count and records like the events (since version 2)
+ *   users:  count, then one length-prefixed record per user
+ *           (name, category index, number of calendar events, event IDs)
+ * Strings are stored as a byte length followed by UTF-8 bytes. Like JsonWriter, the file is
+ * written to a temporary file and atomically replaces the destination on close().
+ */
+public class BinaryWriter {
+    static final int MAGIC = 0x54454842; // "TEHB"
+    static final short VERSION = 2;
+
+    private final String destination;
+    private SnapshotFile.Output output;
+    private DataOutputStream out;
+    private final ByteArrayOutputStream recordBuffer = new ByteArrayOutputStream();
+    private final DataOutputStream record = new DataOutputStream(recordBuffer);
+
+    /**
+     * Constructs a BinaryWriter to write to the specified destination file.
+     *
+     * @param destination the path to the file where data will be written
+     */
+    public BinaryWriter(String destination) {
+        this.destination = destination;
+    }
+
+    /**
+     * Modifies: this (opens the writer)
+     * Effects: Opens the writer to write data to a temporary file next to the destination file.
+     *          Throws a FileNotFoundException if the temporary file cannot be opened for writing.
+     */
+    public void open() throws FileNotFoundException {
+        output = SnapshotFile.create(destination);
+        out = new DataOutputStream(new BufferedOutputStream(output.stream(), 1 << 16));
+    }
+
+    /**
+     * Modifies: this (writes data to the file)
+     * Effects: Writes the binary snapshot of appRunner to the temporary file. If that fails, the
+     *          temporary file is closed and deleted, leaving the destination file as it was, and the
+     *          failure is rethrown (an UncheckedIOException if the data cannot be written).
+     */
+    public void write(TechEventsHubAppRunner appRunner) {
+        try {
+            writeLocked(appRunner);
+        } catch (RuntimeException e) {
+            output.abort();
+            throw e;
+        }
+    }
+
+    // Effects: writes the binary snapshot of appRunner under its read lock.
+    private void writeLocked(TechEventsHubAppRunner appRunner) {
+        appRunner.withReadLock(() -> {
+            try {
+                List<Event> calendarOnly = appRunner.getCalendarOnlyEvents();
+                Map<String, Integer> dictionary = buildDictionary(appRunner, calendarOnly);
+                out.writeInt(MAGIC);
+                out.writeShort(VERSION);
+                out.writeInt(dictionary.size());
+                for (String s : dictionary.keySet()) {
+                    writeString(out, s);
+                }
+                writeEvents(appRunner.getAppEvents().getEvents(), dictionary);
+                writeEvents(calendarOnly, dictionary);
+                writeUsers(appRunner, dictionary);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    // Effects: returns every repeated string value (organizer, time, url, category) mapped to its
+    //          index in the dictionary, in first-seen order.
+    private Map<String, Integer> buildDictionary(TechEventsHubAppRunner appRunner, List<Event> calendarOnly) {
+        Map<String, Integer> dictionary = new LinkedHashMap<>();
+        addEventStrings(dictionary, appRunner.getAppEvents().getEvents());
+        addEventStrings(dictionary, calendarOnly);
+        for (User u : appRunner.getAppUsers().getUsers()) {
+            dictionary.putIfAbsent(u.getCategory(), dictionary.size());
+        }
+        return dictionary;
+    }
+
+    // Modifies: dictionary
+    // Effects: adds the organizer, time and url of each of events to dictionary if missing.
+    private static void addEventStrings(Map<String, Integer> dictionary, List<Event> events) {
+        for (Event e : events) {
+            dictionary.putIfAbsent(e.getOrganizer(), dictionary.size());
+            dictionary.putIfAbsent(e.getTime(), dictionary.size());
+            dictionary.putIfAbsent(e.getUrl(), dictionary.size());
+        }
+    }
+
+    // Modifies: this
+    // Effects: writes the number of events followed by one length-prefixed record per event.
+    private void writeEvents(List<Event> events, Map<String, Integer> dictionary) throws IOException {
+        out.writeInt(events.size());
+        for (Event e : events) {
+            recordBuffer.reset();
+            record.writeLong(e.getId());
+            record.writeInt(e.getDay());
+            writeString(record, e.getName());
+            record.writeInt(dictionary.get(e.getOrganizer()));
+            record.writeInt(dictionary.get(e.getTime()));
+            record.writeInt(dictionary.get(e.getUrl()));
+            flushRecord();
+        }
+    }
+
+    // Modifies: this
+    // Effects: writes the user count followed by one length-prefixed record per user.
+    private void writeUsers(TechEventsHubAppRunner appRunner, Map<String, Integer> dictionary)
+            throws IOException {
+        out.writeInt(appRunner.getAppUsers().getNumberOfUsers());
+        for (User u : appRunner.getAppUsers().getUsers()) {
+            recordBuffer.reset();
+            writeString(record, u.getName());
+            record.writeInt(dictionary.get(u.getCategory()));
+            record.writeInt(u.getEvents().getTotalNumberOfEvents());
+            for (Event e : u.getEvents().getEvents()) {
+                record.writeLong(e.getId());
+            }
+            flushRecord();
+        }
+    }
+
+    // Modifies: this
+    // Effects: writes the buffered record to the file, prefixed by its length in bytes.
+    private void flushRecord() throws IOException {
+        record.flush();
+        out.writeInt(recordBuffer.size());
+        recordBuffer.writeTo(out);
+    }
+
+    // Effects: writes s as its UTF-8 byte length followed by the bytes.
+    private static void writeString(DataOutputStream stream, String s) throws IOException {
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        stream.writeInt(bytes.length);
+        stream.write(bytes);
+    }
+
+    /**
+     * Modifies: this (closes the writer), the destination file
+     * Effects: Flushes the written data, appends its checksum, forces it to disk and atomically
+     *          replaces the destination file with it. If anything fails the destination file is left
+     *          as it was and an UncheckedIOException is thrown.
+     */
+    public void close() {
+        try {
+            out.flush();
+            output.commit();
+        } catch (IOException e) {
+            output.abort();
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package persistence;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import model.Event;
+import model.TechEvents;
+
+/**
+ * Resolves the events of saved user calendars to shared instances while a snapshot is read.
+ * A calendar entry is normally an event of the catalog; an event that was removed from the catalog
+ * after users added it to their calendars is saved separately as a calendar-only event, and stays
+ * out of the catalog when it is read back.
+ */
+class CalendarEvents {
+    private final TechEvents catalog;
+    private final Map<Long, Event> calendarOnlyById = new HashMap<>();
+    private final Map<String, Event> calendarOnlyByName = new HashMap<>(); // for older save files
+
+    /**
+     * Constructs a resolver for calendars that refer to the events of catalog.
+     */
+    CalendarEvents(TechEvents catalog) {
+        this.catalog = catalog;
+    }
+
+    // Modifies: this
+    // Effects: records e as a calendar-only event, for calendars that refer to it by ID.
+    void addCalendarOnly(Event e) {
+        calendarOnlyById.put(e.getId(), e);
+    }
+
+    // Effects: returns the catalog or calendar-only event with the given ID, or null if the snapshot
+    //          holds neither.
+    Event resolve(long id) {
+        Event event = catalog.findEventWithId(id);
+        return event != null ? event : calendarOnlyById.get(id);
+    }
+
+    /**
+     * Modifies: this.
+     * Effects: Returns the shared instance of an event embedded in a calendar of an older save file:
+     *          the catalog event with the same name, or else the first embedded copy of it that was
+     *          read. Copies without a catalog event are kept as calendar-only events and never added
+     *          to the catalog.
+     */
+    Event shareEmbedded(Event copy) {
+        Event shared = catalog.findEventWithGivenName(copy.getName());
+        if (shared == null) {
+            shared = calendarOnlyByName.computeIfAbsent(copy.getName(), name -> copy);
+        }
+        return shared;
+    }
+}
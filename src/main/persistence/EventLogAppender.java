@@ -0,0 +1,237 @@
+package persistence;
+
+import model.EventLog;
+import model.EventTracker;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Persists the EventLog to rotating log files on a dedicated background thread.
+ * The appender follows the log by sequence number, so code that logs events never waits for it:
+ * producers only append to the in-memory ring buffer. Every poll interval the appender drains the
+ * new entries and writes them as one batch through a FileChannel. A new file
+ * (eventlog-[millis]-[n].log in the target directory) is started once the current one reaches the
+ * size limit or age limit, and the oldest log files in the directory are then deleted so that at
+ * most the file limit remain, which bounds the disk space the log takes across runs. If the appender
+ * falls more than EventLog.CAPACITY entries behind, the overwritten entries are reported as a gap
+ * in the file.
+ */
+public class EventLogAppender {
+    public static final long DEFAULT_MAX_BYTES = 8L * 1024 * 1024;
+    public static final long DEFAULT_MAX_AGE_MILLIS = TimeUnit.HOURS.toMillis(24);
+    public static final int DEFAULT_MAX_FILES = 16; // at most 128 MB with the default size limit
+    private static final long POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(200);
+
+    private final Path directory;
+    private final long maxBytes;
+    private final long maxAgeMillis;
+    private final int maxFiles;
+    private final EventLog log;
+    private final Thread worker;
+    private volatile boolean running;
+
+    private long cursor; // sequence number of the next log entry to write
+    private FileChannel file;
+    private long fileBytes;
+    private long fileOpenedAt;
+    private int rotations;
+
+    /**
+     * Constructs an appender that writes to files in directory with the default rotation limits.
+     *
+     * @param directory the directory the log files are written to
+     */
+    public EventLogAppender(String directory) {
+        this(directory, DEFAULT_MAX_BYTES, DEFAULT_MAX_AGE_MILLIS);
+    }
+
+    /**
+     * Constructs an appender that writes to files in directory, starting a new file once the current
+     * one holds maxBytes bytes or was opened maxAgeMillis milliseconds ago, and keeping the default
+     * number of files.
+     *
+     * @param directory the directory the log files are written to
+     * @param maxBytes the size at which a log file is rotated
+     * @param maxAgeMillis the age at which a log file is rotated
+     */
+    public EventLogAppender(String directory, long maxBytes, long maxAgeMillis) {
+        this(directory, maxBytes, maxAgeMillis, DEFAULT_MAX_FILES);
+    }
+
+    /**
+     * Constructs an appender like EventLogAppender(directory, maxBytes, maxAgeMillis) that keeps at
+     * most maxFiles log files in directory, deleting the oldest ones whenever it starts a new file.
+     *
+     * @param directory the directory the log files are written to
+     * @param maxBytes the size at which a log file is rotated
+     * @param maxAgeMillis the age at which a log file is rotated
+     * @param maxFiles the number of log files kept, including the current one; at least 1
+     */
+    public EventLogAppender(String directory, long maxBytes, long maxAgeMillis, int maxFiles) {
+        this.directory = Paths.get(directory);
+        this.maxBytes = maxBytes;
+        this.maxAgeMillis = maxAgeMillis;
+        this.maxFiles = maxFiles;
+        this.log = EventLog.getInstance();
+        this.cursor = 0;
+        this.worker = new Thread(this::run, "event-log-appender");
+        this.worker.setDaemon(true);
+    }
+
+    /**
+     * Modifies: this
+     * Effects: Starts the background thread. Entries still in the log from before the call are
+     *          written too.
+     */
+    public void start() {
+        running = true;
+        worker.start();
+    }
+
+    // Effects: drains the log every poll interval until close() is called.
+    private void run() {
+        while (running) {
+            flush();
+            LockSupport.parkNanos(this, POLL_NANOS);
+        }
+    }
+
+    /**
+     * Modifies: this
+     * Effects: Writes every entry logged so far that has not been written yet. Safe to call from any
+     *          thread; write failures are reported on System.err and the entries are skipped.
+     */
+    public synchronized void flush() {
+        List<EventTracker> batch = new ArrayList<>();
+        long lost = Math.max(0, log.getNextSequence() - EventLog.CAPACITY - cursor);
+        cursor = log.readSince(cursor, batch);
+        if (batch.isEmpty() && lost == 0) {
+            return;
+        }
+        try {
+            write(encode(batch, lost));
+        } catch (IOException e) {
+            System.err.println("Unable to write event log to " + directory + ": " + e.getMessage());
+        }
+    }
+
+    // Effects: returns the batch as UTF-8 text, one line per entry, preceded by a gap notice if
+    //          entries were lost.
+    private static ByteBuffer encode(List<EventTracker> batch, long lost) {
+        StringBuilder text = new StringBuilder();
+        if (lost > 0) {
+            text.append("[").append(lost).append(" entries were overwritten before they could be written]\n");
+        }
+        for (EventTracker e : batch) {
+            text.append(Instant.ofEpochSecond(0, e.getEpochNanos())).append(' ')
+                    .append(e.getDescription().replace('\n', ' ')).append('\n');
+        }
+        return ByteBuffer.wrap(text.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Modifies: this
+    // Effects: writes bytes to the current log file, rotating it first if it is full or too old.
+    private void write(ByteBuffer bytes) throws IOException {
+        long now = System.currentTimeMillis();
+        if (file != null && (fileBytes >= maxBytes || now - fileOpenedAt >= maxAgeMillis)) {
+            file.close();
+            file = null;
+        }
+        if (file == null) {
+            Files.createDirectories(directory);
+            Path next = directory.resolve("eventlog-" + now + "-" + rotations++ + ".log");
+            file = FileChannel.open(next, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.APPEND);
+            fileBytes = 0;
+            fileOpenedAt = now;
+            pruneOldFiles();
+        }
+        while (bytes.hasRemaining()) {
+            fileBytes += file.write(bytes);
+        }
+    }
+
+    // Modifies: the log files in directory
+    // Effects: deletes the oldest log files, from this run or earlier ones, until at most maxFiles
+    //          remain. Files that cannot be deleted are reported on System.err and skipped.
+    private void pruneOldFiles() throws IOException {
+        List<Path> logFiles = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "eventlog-*.log")) {
+            files.forEach(logFiles::add);
+        }
+        logFiles.sort(Comparator.comparingLong((Path p) -> nameField(p, 1)).thenComparingLong(p -> nameField(p, 2)));
+        for (Path old : logFiles.subList(0, Math.max(0, logFiles.size() - maxFiles))) {
+            try {
+                Files.deleteIfExists(old);
+            } catch (IOException e) {
+                System.err.println("Unable to delete old event log " + old + ": " + e.getMessage());
+            }
+        }
+    }
+
+    // Effects: returns the numeric field at index of a name eventlog-[millis]-[n].log (1 for millis,
+    //          2 for n), or 0 if the name does not have that shape.
+    private static long nameField(Path logFile, int index) {
+        String[] fields = logFile.getFileName().toString().replace(".log", "").split("-");
+        try {
+            return fields.length == 3 ? Long.parseLong(fields[index]) : 0;
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Modifies: this
+     * Effects: Stops the background thread, writes any remaining entries, and forces and closes the
+     *          current log file.
+     */
+    public void close() {
+        running = false;
+        LockSupport.unpark(worker);
+        try {
+            worker.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+        closeFile();
+    }
+
+    // Modifies: this
+    // Effects: forces the current log file to disk and closes it.
+    private synchronized void closeFile() {
+        if (file == null) {
+            return;
+        }
+        try {
+            file.force(false);
+            file.close();
+        } catch (IOException e) {
+            System.err.println("Unable to close event log in " + directory + ": " + e.getMessage());
+        }
+        file = null;
+    }
+
+    /**
+     * Modifies: Runtime
+     * Effects: Registers a JVM shutdown hook that calls close(), so entries logged right before exit
+     *          are flushed to disk.
+     */
+    public void installShutdownHook() {
+        Runtime.getRuntime().addShutdownHook(new Thread(this::close, "event-log-appender-shutdown"));
+    }
+}
@@ -0,0 +1,240 @@
+package persistence;
+
+import model.Event;
+import model.User;
+import ui.TechEventsHubAppRunner;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Represents an append-only write-ahead journal of model mutations, kept next to a snapshot file.
+ * Every mutation is appended as one JSON line when it happens, so saving only has to force the
+ * new lines to disk. Loading rebuilds state as snapshot plus journal replay, and compaction folds
+ * the journal into a fresh snapshot and empties it.
+ */
+public class Journal {
+    private final Path destination;
+    private FileChannel channel;
+    private int entryCount;
+    private boolean healthy;
+
+    /**
+     * Constructs a Journal that appends to the specified destination file.
+     *
+     * @param destination the path to the journal file
+     */
+    public Journal(String destination) {
+        this.destination = Paths.get(destination);
+        this.entryCount = 0;
+        this.healthy = true;
+    }
+
+    // Modifies: this
+    // Effects: appends an "addEvent" record for the given event.
+    public void recordAddEvent(Event event) {
+        append(new JSONObject().put("op", "addEvent").put("event", event.toJson()));
+    }
+
+    // Modifies: this
+    // Effects: appends a "removeEvent" record for the event with the given name.
+    public void recordRemoveEvent(String name) {
+        append(new JSONObject().put("op", "removeEvent").put("name", name));
+    }
+
+    // Modifies: this
+    // Effects: appends an "addUser" record for the given user.
+    public void recordAddUser(User user) {
+        append(new JSONObject().put("op", "addUser")
+                .put("name", user.getName())
+                .put("category", user.getCategory()));
+    }
+
+    // Modifies: this
+    // Effects: appends an "addEventToStudent" record for adding event to user's calendar.
+    public void recordAddEventToStudent(Event event, User user) {
+        append(new JSONObject().put("op", "addEventToStudent")
+                .put("user", user.getName())
+                .put("event", event.getId()));
+    }
+
+    // Modifies: this
+    // Effects: appends an "updateEvent" record holding event's ID and its new organizer, time and url.
+    public void recordUpdateEvent(Event event) {
+        append(new JSONObject().put("op", "updateEvent")
+                .put("id", event.getId())
+                .put("organizer", event.getOrganizer())
+                .put("time", event.getTime())
+                .put("url", event.getUrl()));
+    }
+
+    /**
+     * Modifies: this
+     * Effects: Writes record as a single line at the end of the journal. If the write fails the
+     *          journal is marked unhealthy, so that the next save falls back to a full snapshot.
+     */
+    private void append(JSONObject record) {
+        if (!healthy) {
+            return;
+        }
+        try {
+            ByteBuffer line = ByteBuffer.wrap((record.toString() + "\n").getBytes(StandardCharsets.UTF_8));
+            FileChannel out = openChannel();
+            while (line.hasRemaining()) {
+                out.write(line);
+            }
+            entryCount++;
+        } catch (IOException e) {
+            healthy = false;
+        }
+    }
+
+    // Modifies: this
+    // Effects: opens the journal file for appending if it is not open yet, and returns the channel.
+    private FileChannel openChannel() throws IOException {
+        if (channel == null) {
+            channel = FileChannel.open(destination, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        }
+        return channel;
+    }
+
+    /**
+     * Modifies: none.
+     * Effects: Forces every record appended so far to the storage device.
+     *          Throws an IOException if the journal could not be written.
+     */
+    public void sync() throws IOException {
+        if (!healthy) {
+            throw new IOException("Journal write failed: " + destination);
+        }
+        if (channel != null) {
+            channel.force(false);
+        }
+    }
+
+    /**
+     * Requires: appRunner has no journal attached, so replayed mutations are not journaled again.
+     * Modifies: this, appRunner
+     * Effects: Re-applies every record in the journal file to appRunner, in order. A missing file
+     *          replays nothing. Replay stops at the first line that cannot be parsed, which is how
+     *          a record torn by a crash mid-append shows up; that line and anything after it are
+     *          cut off so later appends follow the last good record. Records already reflected in
+     *          the snapshot (e.g. after a crash during compaction) are skipped.
+     *          Throws an IOException if the journal file cannot be read.
+     */
+    public void replay(TechEventsHubAppRunner appRunner) throws IOException {
+        entryCount = 0;
+        long validBytes = 0;
+        try (BufferedReader reader = Files.newBufferedReader(destination, StandardCharsets.UTF_8)) {
+            String line = reader.readLine();
+            while (line != null && apply(line, appRunner)) {
+                entryCount++;
+                validBytes += line.getBytes(StandardCharsets.UTF_8).length + 1;
+                line = reader.readLine();
+            }
+            if (line != null) {
+                openChannel().truncate(validBytes);
+            }
+        } catch (NoSuchFileException e) {
+            // nothing has been journaled since the last compaction
+        }
+    }
+
+    // Modifies: appRunner
+    // Effects: applies one journal line to appRunner; returns false if the line is not a valid record.
+    private boolean apply(String line, TechEventsHubAppRunner appRunner) {
+        try {
+            JSONObject record = new JSONObject(line);
+            switch (record.getString("op")) {
+                case "addEvent":
+                    replayAddEvent(record.getJSONObject("event"), appRunner);
+                    return true;
+                case "removeEvent":
+                    appRunner.removeEvent(record.getString("name"));
+                    return true;
+                case "addUser":
+                    appRunner.addUser(record.getString("name"), record.getString("category"));
+                    return true;
+                case "addEventToStudent":
+                    replayAddEventToStudent(record.getString("user"), record.getLong("event"), appRunner);
+                    return true;
+                case "updateEvent":
+                    replayUpdateEvent(record, appRunner);
+                    return true;
+                default:
+                    return false;
+            }
+        } catch (JSONException e) {
+            return false;
+        }
+    }
+
+    // Modifies: appRunner
+    // Effects: adds the journaled event to appRunner unless an event with its ID already exists.
+    private void replayAddEvent(JSONObject json, TechEventsHubAppRunner appRunner) {
+        long id = json.getLong("id");
+        if (appRunner.getAppEvents().findEventWithId(id) == null) {
+            appRunner.addEvent(new Event(id, json.getString("name"), json.getString("organizer"),
+                    json.getInt("day"), json.getString("time"), json.getString("url")));
+        }
+    }
+
+    // Modifies: appRunner
+    // Effects: adds the event with the given ID to the named user's calendar, unless either no longer
+    //          exists or the calendar already holds it.
+    private void replayAddEventToStudent(String userName, long eventId, TechEventsHubAppRunner appRunner) {
+        User user = appRunner.getAppUsers().findUser(userName);
+        Event event = appRunner.getAppEvents().findEventWithId(eventId);
+        if (user != null && event != null && user.getEvents().findEventWithId(eventId) == null) {
+            appRunner.addEventToStudent(event, user);
+        }
+    }
+
+    // Modifies: appRunner
+    // Effects: gives the journaled event its recorded organizer, time and url, unless it no longer exists.
+    private void replayUpdateEvent(JSONObject record, TechEventsHubAppRunner appRunner) {
+        Event event = appRunner.getAppEvents().findEventWithId(record.getLong("id"));
+        if (event != null) {
+            appRunner.updateEvent(event, record.getString("organizer"), record.getString("time"),
+                    record.getString("url"));
+        }
+    }
+
+    /**
+     * Modifies: this
+     * Effects: Empties the journal after its records have been folded into a new snapshot.
+     *          Throws an IOException if the journal file cannot be truncated.
+     */
+    public void reset() throws IOException {
+        openChannel().truncate(0);
+        channel.force(false);
+        entryCount = 0;
+        healthy = true;
+    }
+
+    /**
+     * Effects: Returns the number of records in the journal since the last compaction.
+     */
+    public int getEntryCount() {
+        return entryCount;
+    }
+
+    /**
+     * Effects: Returns false if a record could not be appended since the last compaction.
+     */
+    public boolean isHealthy() {
+        return healthy;
+    }
+}
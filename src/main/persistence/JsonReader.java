@@ -6,15 +6,22 @@ import model.User;
 import model.Users;
 import ui.TechEventsHubAppRunner;
 
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.function.Consumer;
 
 import org.json.*;
 
 /**
  * Utility class for reading JSON files and converting them into application objects.
+ * Offers a tree mode (read) that parses the whole document before building objects, and a
+ * streaming mode (readStreaming) that builds events and users one array element at a time.
  */
 public class JsonReader {
 
@@ -31,35 +38,219 @@ public class JsonReader {
 
     /**
      * Modifies: none.
-     * Effects: Reads the content of the JSON file at the specified source path, 
+     * Effects: Verifies the trailing checksum of the JSON file at the specified source path (if it
+     *          has one), reads its content, 
      *          parses the JSON data to extract users and events, 
      *          and returns a TechEventsHubAppRunner object containing 
      *          populated Users and TechEvents objects.
      *          Throws an IOException if there is an error reading the file.
      */
     public TechEventsHubAppRunner read() throws IOException {
-        // Read all bytes from the file and convert to a string
-        String content = new String(Files.readAllBytes(Paths.get(source)), StandardCharsets.UTF_8);
+        // Check the trailing checksum, then read the payload bytes and convert to a string
+        long length = SnapshotFile.verify(Paths.get(source));
+        String content;
+        try (InputStream in = SnapshotFile.openPayload(Paths.get(source), length)) {
+            content = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
         // Parse the string content into a JSONObject
         JSONObject jsonObject = new JSONObject(content);
 
-        // Parse the users from the JSON object
-        Users users = parseUsers(jsonObject.getJSONObject("appUsers"));
-        // Parse the events from the JSON object
+        // Parse the events first so user calendars can refer to them by ID
         TechEvents techEvents = parseEvents(jsonObject.getJSONObject("appEvents"));
+        CalendarEvents calendarEvents = new CalendarEvents(techEvents);
+        JSONArray calendarOnly = jsonObject.optJSONArray("calendarOnlyEvents");
+        for (int i = 0; calendarOnly != null && i < calendarOnly.length(); i++) {
+            calendarEvents.addCalendarOnly(parseEvent(calendarOnly.getJSONObject(i)));
+        }
+        // Parse the users from the JSON object
+        Users users = parseUsers(jsonObject.getJSONObject("appUsers"), calendarEvents);
 
         // Create and populate the TechEventsHubAppRunner with parsed data
         TechEventsHubAppRunner appRunner = new TechEventsHubAppRunner(techEvents, users);
         return appRunner;
     }
 
+    /**
+     * Modifies: none.
+     * Effects: Reads the JSON file at the specified source path incrementally. Each element of
+     *          "appEvents.listofevents", "calendarOnlyEvents" and "appUsers.users" is tokenized
+     *          and turned into an Event or User before the next one is read, and all other values
+     *          are skipped without being built, so memory use does not grow with the size of the
+     *          file beyond the objects being built. Files that list their users before the events
+     *          those users refer to are read a second time for the users. Returns the same
+     *          TechEventsHubAppRunner that read() would.
+     *          Throws an IOException if there is an error reading the file or its checksum does not match.
+     */
+    public TechEventsHubAppRunner readStreaming() throws IOException {
+        Path path = Paths.get(source);
+        long length = SnapshotFile.verify(path);
+        StreamedDocument document = new StreamedDocument();
+        stream(path, length, document::parse);
+        if (!document.usersParsed) {
+            stream(path, length, document::parseUsers);
+        }
+        return new TechEventsHubAppRunner(document.techEvents, document.users);
+    }
+
+    // Effects: passes a tokener over the payload of the file at path, length bytes long, to pass.
+    private void stream(Path path, long length, Consumer<JSONTokener> pass) throws IOException {
+        InputStream payload = SnapshotFile.openPayload(path, length);
+        try (Reader reader = new BufferedReader(new InputStreamReader(payload, StandardCharsets.UTF_8))) {
+            pass.accept(new JSONTokener(reader));
+        } catch (JSONException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Incremental parse of one save file. Users are built in the first pass when the event catalog
+     * and the calendar-only events come before them, since their calendars refer to those events;
+     * otherwise they are skipped, and built in a second pass over the file.
+     */
+    private class StreamedDocument {
+        private JSONTokener tokener;
+        private final TechEvents techEvents = new TechEvents();
+        private final CalendarEvents calendarEvents = new CalendarEvents(techEvents);
+        private final Users users = new Users();
+        private boolean eventsParsed = false;
+        private boolean calendarOnlyParsed = false;
+        private boolean usersParsed = false;
+
+        // Modifies: this
+        // Effects: consumes the top-level object from tokener, building the events, and the users
+        //          if every event they may refer to has been built before them.
+        void parse(JSONTokener tokener) {
+            this.tokener = tokener;
+            forEachMember(key -> {
+                if (key.equals("appEvents")) {
+                    forEachMember(k -> parseMember(k, "listofevents", this::addEvent));
+                    eventsParsed = true;
+                } else if (key.equals("calendarOnlyEvents")) {
+                    forEachElement(json -> calendarEvents.addCalendarOnly(parseEvent(json)));
+                    calendarOnlyParsed = true;
+                } else if (key.equals("appUsers") && eventsParsed && calendarOnlyParsed) {
+                    forEachMember(k -> parseMember(k, "users", this::addUser));
+                    usersParsed = true;
+                } else {
+                    skipValue();
+                }
+            });
+            expectEnd();
+        }
+
+        // Requires: parse() has consumed the whole document.
+        // Modifies: this
+        // Effects: consumes the top-level object from tokener again, building only the users.
+        void parseUsers(JSONTokener tokener) {
+            this.tokener = tokener;
+            forEachMember(key -> {
+                if (key.equals("appUsers")) {
+                    forEachMember(k -> parseMember(k, "users", this::addUser));
+                } else {
+                    skipValue();
+                }
+            });
+            expectEnd();
+            usersParsed = true;
+        }
+
+        private void expectEnd() {
+            if (tokener.nextClean() != 0) {
+                throw tokener.syntaxError("Unexpected content after the document");
+            }
+        }
+
+        // Effects: streams the value of key through handler if key is arrayKey; skips it otherwise.
+        private void parseMember(String key, String arrayKey, Consumer<JSONObject> handler) {
+            if (key.equals(arrayKey)) {
+                forEachElement(handler);
+            } else {
+                skipValue();
+            }
+        }
+
+        // Effects: consumes the next value without building it; only strings are read whole.
+        private void skipValue() {
+            int depth = 0;
+            do {
+                char c = tokener.nextClean();
+                if (c == '"' || c == '\'') {
+                    tokener.nextString(c);
+                } else if (c == '{' || c == '[') {
+                    depth++;
+                } else if (c == '}' || c == ']') {
+                    depth--;
+                } else if (c == 0) {
+                    throw tokener.syntaxError("Unexpected end of the document");
+                } else if (c != ',' && c != ':') {
+                    tokener.back();
+                    tokener.nextValue();
+                }
+            } while (depth > 0);
+        }
+
+        private void addEvent(JSONObject eventJson) {
+            techEvents.addEvent(parseEvent(eventJson));
+        }
+
+        private void addUser(JSONObject userJson) {
+            users.addUser(parseUser(userJson, calendarEvents));
+        }
+
+        // Effects: reads a JSON object member by member, passing each key to handler, which
+        //          must consume the member's value.
+        private void forEachMember(Consumer<String> handler) {
+            expect('{');
+            char next = tokener.nextClean();
+            if (next == '}') {
+                return;
+            }
+            tokener.back();
+            do {
+                String key = tokener.nextValue().toString();
+                expect(':');
+                handler.accept(key);
+                next = tokener.nextClean();
+            } while (next == ',');
+            if (next != '}') {
+                throw tokener.syntaxError("Expected ',' or '}'");
+            }
+        }
+
+        // Effects: reads a JSON array of objects, passing each element to handler as it is read.
+        private void forEachElement(Consumer<JSONObject> handler) {
+            expect('[');
+            char next = tokener.nextClean();
+            if (next == ']') {
+                return;
+            }
+            tokener.back();
+            do {
+                handler.accept((JSONObject) tokener.nextValue());
+                next = tokener.nextClean();
+            } while (next == ',');
+            if (next != ']') {
+                throw tokener.syntaxError("Expected ',' or ']'");
+            }
+        }
+
+        private void expect(char c) {
+            if (tokener.nextClean() != c) {
+                throw tokener.syntaxError("Expected '" + c + "'");
+            }
+        }
+    }
+
     /**
      * Modifies: none.
      * Effects: Parses the "appUsers" section of the JSON object and creates a Users object 
-     *          populated with User objects and their associated events. 
+     *          populated with User objects whose calendars share the events of calendarEvents. 
      *          Returns the populated Users object.
      */
-    private Users parseUsers(JSONObject jsonObject) {
+    private Users parseUsers(JSONObject jsonObject, CalendarEvents calendarEvents) {
         // Create a new Users object to store all the parsed users
         Users users = new Users();
         // Extract the "users" array from the JSON object
@@ -70,7 +261,7 @@ public class JsonReader {
             // Get the current user JSON object
             JSONObject userJson = usersArray.getJSONObject(i);
             // Parse the user and add them to the Users object
-            User user = parseUser(userJson);
+            User user = parseUser(userJson, calendarEvents);
             users.addUser(user);
         }
 
@@ -79,25 +270,34 @@ public class JsonReader {
     }
 
     /**
-     * Requires: jsonObject contains a valid "name", "category", and "events" field.
-     * Modifies: none.
+     * Requires: jsonObject contains a valid "name", "category", and either an "eventids" field
+     *           or (older save files) an "events" field.
+     * Modifies: calendarEvents (only when an older save file lists an event missing from the catalog).
      * Effects: Parses a single user from the provided JSONObject, extracting the name, category, 
-     *          and associated events. Returns the created User object.
+     *          and associated events. Calendar entries are resolved to the shared catalog or
+     *          calendar-only instances of calendarEvents. Returns the created User object.
      */
-    private User parseUser(JSONObject jsonObject) {
+    private User parseUser(JSONObject jsonObject, CalendarEvents calendarEvents) {
         // Extract the name and category from the JSON object
         String name = jsonObject.getString("name");
         String category = jsonObject.getString("category");
         // Create a new User object with the parsed name and category
         User user = new User(name, category);
 
-        // Parse the events for this user (if any)
-        JSONObject eventsObject = jsonObject.getJSONObject("events");
-        TechEvents userTechEvents = parseEvents(eventsObject);
-
-        // Add the parsed events to the user's event list
-        for (Event event : userTechEvents.getEvents()) {
-            user.addEvent(event);
+        if (jsonObject.has("eventids")) {
+            // Resolve each referenced ID against the catalog and the calendar-only events
+            JSONArray eventIds = jsonObject.getJSONArray("eventids");
+            for (int i = 0; i < eventIds.length(); i++) {
+                Event event = calendarEvents.resolve(eventIds.getLong(i));
+                if (event != null) {
+                    user.addEvent(event);
+                }
+            }
+        } else {
+            // Older save files embed a copy of every calendar event
+            for (Event event : parseEvents(jsonObject.getJSONObject("events")).getEvents()) {
+                user.addEvent(calendarEvents.shareEmbedded(event));
+            }
         }
 
         // Return the populated User object
@@ -132,7 +332,8 @@ public class JsonReader {
      * Requires: jsonObject contains valid "name", "organizer", "day", "time", and "url" fields.
      * Modifies: none.
      * Effects: Parses a single event from the provided JSONObject, extracting the event's name, 
-     *          organizer, day, time, and URL. Returns the created Event object.
+     *          organizer, day, time, and URL. Keeps the stored ID when present (older save files
+     *          have none, in which case a fresh ID is assigned). Returns the created Event object.
      */
     private Event parseEvent(JSONObject jsonObject) {
         // Extract the name, organizer, day, time, and URL fields from the JSON object
@@ -143,6 +344,9 @@ public class JsonReader {
         String url = jsonObject.getString("url");
 
         // Create and return a new Event object with the extracted data
+        if (jsonObject.has("id")) {
+            return new Event(jsonObject.getLong("id"), name, organizer, day, time, url);
+        }
         return new Event(name, organizer, day, time, url);
     }
 }
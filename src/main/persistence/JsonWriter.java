@@ -2,18 +2,25 @@ package persistence;
 
 import ui.TechEventsHubAppRunner;
 
-import org.json.JSONObject;
+import org.json.JSONWriter;
 
 import java.io.*;
+import java.nio.charset.StandardCharsets;
 
 /**
  * Represents a writer that writes the JSON representation of the workroom to a file.
- * This class facilitates writing data into a file using JSON format.
+ * This class facilitates writing data into a file using JSON format. The document is streamed
+ * through a buffered writer as it is produced, so no JSONObject tree or full-document String
+ * is built. Output goes to a temporary file that replaces the destination only once it is
+ * complete and on disk, so a failed save never damages the previous file.
+ * Snapshots end with a checksum trailer, which standard JSON parsers reject; a writer made with
+ * forExport() leaves it out, so the file it writes is a plain JSON document.
  */
 public class JsonWriter {
-    private static final int TAB = 4;
+    private SnapshotFile.Output output;
     private PrintWriter writer;
     private String destination;
+    private final boolean checksummed;
 
     /**
      * Constructs a JsonWriter to write to the specified destination file.
@@ -21,50 +28,69 @@ public class JsonWriter {
      * @param destination the path to the file where data will be written
      */
     public JsonWriter(String destination) {
+        this(destination, true);
+    }
+
+    private JsonWriter(String destination, boolean checksummed) {
         this.destination = destination;
+        this.checksummed = checksummed;
+    }
+
+    /**
+     * Returns a JsonWriter that writes a plain JSON document, without the checksum trailer, to the
+     * specified destination file, for other tools to read. JsonReader reads it back too.
+     *
+     * @param destination the path to the file where data will be written
+     */
+    public static JsonWriter forExport(String destination) {
+        return new JsonWriter(destination, false);
     }
 
     /**
      * Modifies: this (opens the writer)
-     * Effects: Opens the writer to write data to the specified destination file.
-     *          Throws a FileNotFoundException if the destination file cannot be opened for writing.
+     * Effects: Opens the writer to write data to a temporary file next to the destination file.
+     *          Throws a FileNotFoundException if the temporary file cannot be opened for writing.
      */
     public void open() throws FileNotFoundException {
-        // Create a PrintWriter object to write to the file at the specified destination
-        writer = new PrintWriter(new File(destination));
+        // Write through a FileChannel to a temporary file; the destination is untouched until close()
+        output = SnapshotFile.create(destination, checksummed);
+        writer = new PrintWriter(new BufferedWriter(new OutputStreamWriter(output.stream(), StandardCharsets.UTF_8)));
     }
 
     /**
      * Modifies: this (writes data to the file)
-     * Effects: Converts the TechEventsHubAppRunner object into JSON representation 
-     *          and writes it to the destination file.
+     * Effects: Streams the JSON representation of the TechEventsHubAppRunner object 
+     *          to the destination file. If that fails, the temporary file is closed and deleted,
+     *          leaving the destination file as it was, and the failure is rethrown.
      *
      * @param appRunner the TechEventsHubAppRunner object to be converted and written
      */
     public void write(TechEventsHubAppRunner appRunner) {
-        // Convert the appRunner object into a JSONObject
-        JSONObject json = appRunner.toJson();
-        // Save the generated JSON to the file
-        saveToFile(json.toString(TAB));
+        // Stream each event and user straight into the buffered file writer
+        try {
+            appRunner.writeJson(new JSONWriter(writer));
+        } catch (RuntimeException e) {
+            output.abort();
+            throw e;
+        }
     }
 
     /**
-     * Modifies: this (closes the writer)
-     * Effects: Closes the writer to stop writing to the file.
+     * Modifies: this (closes the writer), the destination file
+     * Effects: Flushes the written data, appends its checksum, forces it to disk and atomically
+     *          replaces the destination file with it. If anything fails the destination file is left
+     *          as it was and an UncheckedIOException is thrown.
      */
     public void close() {
-        // Close the PrintWriter to finish the writing process
-        writer.close();
-    }
-
-    /**
-     * Modifies: this (writes the string to the file)
-     * Effects: Writes the given string to the file.
-     * 
-     * @param json the string to be written to the file
-     */
-    private void saveToFile(String json) {
-        // Write the provided JSON string to the file
-        writer.print(json);
+        // Flush the PrintWriter; it reports write failures through checkError() rather than exceptions
+        if (writer.checkError()) {
+            output.abort();
+            throw new UncheckedIOException(new IOException("Unable to write to file: " + destination));
+        }
+        try {
+            output.commit();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 }
@@ -0,0 +1,276 @@
+package persistence;
+
+import model.Event;
+import model.EventCatalog;
+import model.TechEvents;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A read-only event catalog served straight from a memory-mapped file. Opening the catalog maps the
+ * file instead of parsing it, and processes mapping the same file share its pages through the OS page
+ * cache. Events are materialized only when a query returns them.
+ *
+ * The file layout (all integers big-endian) is:
+ *   header:      magic "TEHM", version, event count N, name hash table size H
+ *   rows:        N fixed-width rows of (id, day, name, organizer, time, url offsets into the string region)
+ *   day index:   DAYS + 1 positions into the day order, one per day of [FIRST_DAY, LAST_DAY] plus the end
+ *                of the in-year events; events outside that domain follow, up to N
+ *   day order:   N row numbers sorted by day
+ *   name table:  H slots of (row number + 1), 0 meaning empty, probed linearly from the name's hashCode
+ *   strings:     each distinct string once, as a byte length followed by UTF-8 bytes
+ * followed by the same checksum trailer as the other snapshots.
+ */
+public class MappedEventCatalog implements EventCatalog {
+    static final int MAGIC = 0x5445484D; // "TEHM"
+    static final int VERSION = 1;
+    private static final int HEADER_BYTES = 16;
+    private static final int ROW_BYTES = 28;
+    private static final int DAYS = TechEvents.LAST_DAY - TechEvents.FIRST_DAY + 1;
+
+    private final MappedByteBuffer buffer;
+    private final int count;
+    private final int hashSlots;
+    private final int dayIndexStart;
+    private final int dayOrderStart;
+    private final int nameTableStart;
+    private final int stringsStart;
+
+    // Effects: wraps a mapped catalog file and computes the section offsets from its header.
+    private MappedEventCatalog(MappedByteBuffer buffer) {
+        this.buffer = buffer;
+        this.count = buffer.getInt(8);
+        this.hashSlots = buffer.getInt(12);
+        this.dayIndexStart = HEADER_BYTES + count * ROW_BYTES;
+        this.dayOrderStart = dayIndexStart + (DAYS + 1) * 4;
+        this.nameTableStart = dayOrderStart + count * 4;
+        this.stringsStart = nameTableStart + hashSlots * 4;
+    }
+
+    /**
+     * Modifies: none.
+     * Effects: Maps the catalog file at source read-only and returns it. Only the file header and
+     *          trailer are checked; pages are read lazily as queries touch them.
+     *          Throws an IOException if the file cannot be mapped or is not a catalog file.
+     */
+    public static MappedEventCatalog open(String source) throws IOException {
+        Path path = Paths.get(source);
+        long length = SnapshotFile.verify(path, false);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+            if (length < HEADER_BYTES || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+                throw new IOException("Not an event catalog file: " + source);
+            }
+            return new MappedEventCatalog(buffer);
+        }
+    }
+
+    @Override
+    public int getTotalNumberOfEvents() {
+        return count;
+    }
+
+    @Override
+    public Event getEventAtIndex(int x) {
+        if (x < 0 || x >= count) {
+            throw new IndexOutOfBoundsException("Index: " + x + ", Size: " + count);
+        }
+        int row = HEADER_BYTES + x * ROW_BYTES;
+        return Event.view(buffer.getLong(row), stringAt(buffer.getInt(row + 12)),
+                stringAt(buffer.getInt(row + 16)), buffer.getInt(row + 8),
+                stringAt(buffer.getInt(row + 20)), stringAt(buffer.getInt(row + 24)));
+    }
+
+    // Requires - 0 <= min, max <= 365
+    // Effects - returns the events in [min, max] ordered by day, reading only the day order
+    //           entries of the days in range.
+    @Override
+    public List<Event> findEventsInRange(int min, int max) {
+        List<Event> eventsInRange = new ArrayList<>();
+        int from = Math.max(min, TechEvents.FIRST_DAY) - TechEvents.FIRST_DAY;
+        int to = Math.min(max, TechEvents.LAST_DAY) - TechEvents.FIRST_DAY;
+        if (from <= to) {
+            addRows(eventsInRange, dayIndex(from), dayIndex(to + 1), min, max);
+        }
+        if (min < TechEvents.FIRST_DAY || max > TechEvents.LAST_DAY) {
+            addRows(eventsInRange, dayIndex(DAYS), count, min, max);
+            eventsInRange.sort((a, b) -> Integer.compare(a.getDay(), b.getDay()));
+        }
+        return eventsInRange;
+    }
+
+    // Modifies - events
+    // Effects - adds the events at day order positions [from, to) whose day is in [min, max].
+    private void addRows(List<Event> events, int from, int to, int min, int max) {
+        for (int i = from; i < to; i++) {
+            Event e = getEventAtIndex(buffer.getInt(dayOrderStart + i * 4));
+            if (e.isInRange(min, max)) {
+                events.add(e);
+            }
+        }
+    }
+
+    private int dayIndex(int day) {
+        return buffer.getInt(dayIndexStart + day * 4);
+    }
+
+    @Override
+    public Event findEventWithGivenName(String name) {
+        byte[] wanted = name.getBytes(StandardCharsets.UTF_8);
+        for (int slot = name.hashCode() & (hashSlots - 1); ; slot = (slot + 1) & (hashSlots - 1)) {
+            int entry = buffer.getInt(nameTableStart + slot * 4);
+            if (entry == 0) {
+                return null;
+            }
+            int nameOffset = buffer.getInt(HEADER_BYTES + (entry - 1) * ROW_BYTES + 12);
+            if (Arrays.equals(wanted, bytesAt(nameOffset))) {
+                return getEventAtIndex(entry - 1);
+            }
+        }
+    }
+
+    // Effects: returns the bytes of the string stored at offset in the string region.
+    private byte[] bytesAt(int offset) {
+        int position = stringsStart + offset;
+        byte[] bytes = new byte[buffer.getInt(position)];
+        ByteBuffer view = buffer.duplicate();
+        view.position(position + 4);
+        view.get(bytes);
+        return bytes;
+    }
+
+    private String stringAt(int offset) {
+        return new String(bytesAt(offset), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Modifies: the destination file.
+     * Effects: Writes techEvents as a catalog file at destination, replacing any previous file
+     *          atomically once the new one is complete and on disk.
+     *          Throws an IOException if the file cannot be written.
+     */
+    public static void write(TechEvents techEvents, String destination) throws IOException {
+        List<Event> events = techEvents.getEvents();
+        Map<String, Integer> stringOffsets = new HashMap<>();
+        ByteArrayOutputStream strings = new ByteArrayOutputStream();
+        int[] rows = new int[events.size() * 4];
+        for (int i = 0; i < events.size(); i++) {
+            Event e = events.get(i);
+            rows[i * 4] = intern(e.getName(), stringOffsets, strings);
+            rows[i * 4 + 1] = intern(e.getOrganizer(), stringOffsets, strings);
+            rows[i * 4 + 2] = intern(e.getTime(), stringOffsets, strings);
+            rows[i * 4 + 3] = intern(e.getUrl(), stringOffsets, strings);
+        }
+        SnapshotFile.Output output = SnapshotFile.create(destination);
+        try {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(output.stream(), 1 << 16));
+            int hashSlots = Integer.highestOneBit(Math.max(events.size(), 1) * 2) * 2;
+            writeHeaderAndRows(out, events, rows, hashSlots);
+            writeDayIndex(out, events);
+            writeNameTable(out, events, hashSlots);
+            strings.writeTo(out);
+            out.flush();
+            output.commit();
+        } catch (IOException e) {
+            output.abort();
+            throw e;
+        }
+    }
+
+    // Modifies: stringOffsets, strings
+    // Effects: returns the offset of s in the string region, appending it the first time it is seen.
+    private static int intern(String s, Map<String, Integer> stringOffsets, ByteArrayOutputStream strings) {
+        return stringOffsets.computeIfAbsent(s, key -> {
+            int offset = strings.size();
+            byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+            strings.write(bytes.length >>> 24);
+            strings.write(bytes.length >>> 16);
+            strings.write(bytes.length >>> 8);
+            strings.write(bytes.length);
+            strings.write(bytes, 0, bytes.length);
+            return offset;
+        });
+    }
+
+    // Effects: writes the header and one fixed-width row per event.
+    private static void writeHeaderAndRows(DataOutputStream out, List<Event> events, int[] rows, int hashSlots)
+            throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(events.size());
+        out.writeInt(hashSlots);
+        for (int i = 0; i < events.size(); i++) {
+            out.writeLong(events.get(i).getId());
+            out.writeInt(events.get(i).getDay());
+            for (int j = 0; j < 4; j++) {
+                out.writeInt(rows[i * 4 + j]);
+            }
+        }
+    }
+
+    // Effects: writes the day index followed by the row numbers in day order (a counting sort, so
+    //          events on the same day keep catalog order).
+    private static void writeDayIndex(DataOutputStream out, List<Event> events) throws IOException {
+        int[] starts = new int[DAYS + 2];
+        for (Event e : events) {
+            starts[slotOf(e.getDay()) + 1]++;
+        }
+        for (int d = 1; d < starts.length; d++) {
+            starts[d] += starts[d - 1];
+        }
+        int[] order = new int[events.size()];
+        int[] next = Arrays.copyOf(starts, starts.length);
+        for (int i = 0; i < events.size(); i++) {
+            order[next[slotOf(events.get(i).getDay())]++] = i;
+        }
+        for (int d = 0; d <= DAYS; d++) {
+            out.writeInt(starts[d]);
+        }
+        for (int row : order) {
+            out.writeInt(row);
+        }
+    }
+
+    // Effects: returns the day index slot for day; days outside the domain share the last slot.
+    private static int slotOf(int day) {
+        if (day < TechEvents.FIRST_DAY || day > TechEvents.LAST_DAY) {
+            return DAYS;
+        }
+        return day - TechEvents.FIRST_DAY;
+    }
+
+    // Effects: writes the open-addressing name table; the first event with a given name wins.
+    private static void writeNameTable(DataOutputStream out, List<Event> events, int hashSlots)
+            throws IOException {
+        int[] table = new int[hashSlots];
+        Map<String, Boolean> seen = new HashMap<>();
+        for (int i = 0; i < events.size(); i++) {
+            String name = events.get(i).getName();
+            if (seen.putIfAbsent(name, Boolean.TRUE) == null) {
+                int slot = name.hashCode() & (hashSlots - 1);
+                while (table[slot] != 0) {
+                    slot = (slot + 1) & (hashSlots - 1);
+                }
+                table[slot] = i + 1;
+            }
+        }
+        for (int entry : table) {
+            out.writeInt(entry);
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package persistence;
+
+import java.io.FileNotFoundException;
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Crash-safe snapshot files. A snapshot is written to a temporary file next to its destination,
+ * followed by a one-line trailer "#checksum crc32=XXXXXXXX length=N" covering the payload, forced
+ * to disk and atomically renamed over the previous snapshot. Readers check the trailer before
+ * parsing, so a damaged file is rejected without a full parse. Files without a trailer (written
+ * before checksums were added, or exported as plain documents) are accepted as they are.
+ */
+final class SnapshotFile {
+    private static final String TRAILER_PREFIX = "\n#checksum crc32=";
+    private static final int MAX_TRAILER_LENGTH = 64;
+
+    private SnapshotFile() {
+    }
+
+    /**
+     * Modifies: none.
+     * Effects: Returns the number of payload bytes in the snapshot at path after verifying its
+     *          trailer: the recorded length must match the file and the CRC32 of the payload must
+     *          match the recorded checksum. Returns the file size for files without a trailer.
+     *          Throws an IOException if the file cannot be read or fails verification.
+     */
+    static long verify(Path path) throws IOException {
+        return verify(path, true);
+    }
+
+    /**
+     * Modifies: none.
+     * Effects: Same as verify(path), except that the CRC32 of the payload is only checked when
+     *          checkCrc is true. Without it only the trailer and recorded length are checked,
+     *          which costs the same however large the file is.
+     */
+    static long verify(Path path, boolean checkCrc) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            String tail = readTail(channel, size);
+            int start = tail.lastIndexOf(TRAILER_PREFIX);
+            if (start < 0) {
+                return size;
+            }
+            String[] fields = tail.substring(start + TRAILER_PREFIX.length()).split(" length=");
+            long length = fields.length == 2 && tail.endsWith("\n") ? Long.parseLong(fields[1].trim()) : -1;
+            if (length != size - (tail.length() - start)) {
+                throw new IOException("Snapshot is truncated or damaged: " + path);
+            }
+            if (checkCrc && crcOf(channel, length) != Long.parseLong(fields[0], 16)) {
+                throw new IOException("Snapshot checksum mismatch: " + path);
+            }
+            return length;
+        } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+            throw new IOException("Snapshot trailer is damaged: " + path);
+        }
+    }
+
+    // Effects: returns the last (at most MAX_TRAILER_LENGTH) bytes of the channel as text.
+    private static String readTail(FileChannel channel, long size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(size, MAX_TRAILER_LENGTH));
+        long position = size - buffer.capacity();
+        while (buffer.hasRemaining() && channel.read(buffer, position + buffer.position()) >= 0) {
+            // keep reading until the tail is complete
+        }
+        return new String(buffer.array(), 0, buffer.position(), StandardCharsets.ISO_8859_1);
+    }
+
+    // Effects: returns the CRC32 of the first length bytes of the channel.
+    private static long crcOf(FileChannel channel, long length) throws IOException {
+        CRC32 crc = new CRC32();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 16);
+        long position = 0;
+        while (position < length) {
+            buffer.clear().limit((int) Math.min(buffer.capacity(), length - position));
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new IOException("Unexpected end of snapshot");
+            }
+            buffer.flip();
+            crc.update(buffer);
+            position += read;
+        }
+        return crc.getValue();
+    }
+
+    /**
+     * Effects: Returns a stream over the first length bytes of the file at path.
+     *          Throws an IOException if the file cannot be opened.
+     */
+    static InputStream openPayload(Path path, long length) throws IOException {
+        return new FilterInputStream(Files.newInputStream(path)) {
+            private long remaining = length;
+
+            @Override
+            public int read() throws IOException {
+                if (remaining <= 0) {
+                    return -1;
+                }
+                remaining--;
+                return super.read();
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                if (remaining <= 0) {
+                    return -1;
+                }
+                int read = super.read(b, off, (int) Math.min(len, remaining));
+                remaining -= Math.max(read, 0);
+                return read;
+            }
+        };
+    }
+
+    /**
+     * Effects: Opens a new snapshot for destination and returns it; the payload is written to a
+     *          temporary file until the snapshot is committed.
+     *          Throws a FileNotFoundException if the temporary file cannot be created.
+     */
+    static Output create(String destination) throws FileNotFoundException {
+        return create(destination, true);
+    }
+
+    /**
+     * Effects: Same as create(destination), except that committing the output appends the checksum
+     *          trailer only if withTrailer is true; without it the file holds the payload alone.
+     */
+    static Output create(String destination, boolean withTrailer) throws FileNotFoundException {
+        Path target = Paths.get(destination);
+        Path temp = Paths.get(destination + ".tmp");
+        try {
+            FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+            return new Output(channel, temp, target, withTrailer);
+        } catch (IOException e) {
+            throw new FileNotFoundException("Unable to create snapshot: " + temp);
+        }
+    }
+
+    /**
+     * A snapshot being written. Bytes written to stream() are checksummed and counted;
+     * commit() makes them the new snapshot, abort() discards them.
+     */
+    static final class Output {
+        private final FileChannel channel;
+        private final Path temp;
+        private final Path target;
+        private final boolean withTrailer;
+        private final CRC32 crc = new CRC32();
+        private long length = 0;
+        private final OutputStream stream;
+
+        private Output(FileChannel channel, Path temp, Path target, boolean withTrailer) {
+            this.channel = channel;
+            this.temp = temp;
+            this.target = target;
+            this.withTrailer = withTrailer;
+            this.stream = new FilterOutputStream(Channels.newOutputStream(channel)) {
+                @Override
+                public void write(int b) throws IOException {
+                    out.write(b);
+                    crc.update(b);
+                    length++;
+                }
+
+                @Override
+                public void write(byte[] b, int off, int len) throws IOException {
+                    out.write(b, off, len);
+                    crc.update(b, off, len);
+                    length += len;
+                }
+            };
+        }
+
+        // Effects: returns the stream that receives the snapshot payload.
+        OutputStream stream() {
+            return stream;
+        }
+
+        /**
+         * Modifies: this, the destination file.
+         * Effects: Appends the checksum trailer (if the output has one), forces the temporary file to
+         *          disk and atomically renames it over the destination. Throws an IOException if any step fails, in
+         *          which case the previous snapshot is left untouched.
+         */
+        void commit() throws IOException {
+            try {
+                String trailer = withTrailer
+                        ? TRAILER_PREFIX + String.format("%08x", crc.getValue()) + " length=" + length + "\n" : "";
+                ByteBuffer buffer = ByteBuffer.wrap(trailer.getBytes(StandardCharsets.ISO_8859_1));
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(true);
+                channel.close();
+                moveIntoPlace();
+            } catch (IOException e) {
+                abort();
+                throw e;
+            }
+        }
+
+        // Effects: renames temp over target, atomically where the file system supports it,
+        //          and forces the directory entry to disk where the platform allows.
+        private void moveIntoPlace() throws IOException {
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+            Path directory = target.toAbsolutePath().getParent();
+            try (FileChannel dir = FileChannel.open(directory, StandardOpenOption.READ)) {
+                dir.force(true);
+            } catch (IOException e) {
+                // not every platform can open a directory; the rename itself is still atomic
+            }
+        }
+
+        /**
+         * Modifies: this.
+         * Effects: Discards the temporary file, leaving the previous snapshot in place.
+         */
+        void abort() {
+            try {
+                channel.close();
+                Files.deleteIfExists(temp);
+            } catch (IOException e) {
+                // nothing else to clean up
+            }
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package persistence;
+
+/**
+ * The on-disk formats a snapshot of the application can be saved in.
+ * JSON is human-readable and used for import/export; BINARY is compact and fast to load.
+ * Both carry a checksum trailer after the document. JsonWriter.forExport() writes JSON without it,
+ * for standard JSON parsers, and JsonReader reads such files as well.
+ */
+public enum SnapshotFormat {
+    JSON,
+    BINARY
+}
@@ -1,10 +1,12 @@
 package persistence;
 
 import org.json.JSONObject;
+import org.json.JSONWriter;
 
 /**
  * Interface that represents a writable object.
- * Classes that implement this interface should provide a method to convert the object into its JSON representation.
+ * Classes that implement this interface should provide a method to convert the object into its JSON representation,
+ * either as a JSONObject tree or streamed straight to a JSONWriter.
  */
 public interface Writable {
 
@@ -15,4 +17,13 @@ public interface Writable {
      * @return a JSONObject representing the current state of the object
      */
     JSONObject toJson();
+
+    /**
+     * Modifies: writer
+     * Effects: Writes the same JSON value that toJson() returns to the given writer, without
+     *          building an intermediate JSONObject tree for this object or its children.
+     *
+     * @param writer the writer positioned where this object's value belongs
+     */
+    void writeJson(JSONWriter writer);
 }
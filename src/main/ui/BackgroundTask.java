@@ -0,0 +1,104 @@
+package ui;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+
+import javax.swing.SwingWorker;
+
+/**
+ * BackgroundTask runs a piece of work off the Event Dispatch Thread and hands its outcome back to
+ * the EDT. The work reports its progress through a TaskProgress: the percentage is published as the
+ * worker's "progress" property and the stage text is passed to the stage listener, both on the EDT.
+ * Cancelling the task only asks the work to stop (the thread is not interrupted, so files are
+ * never left half-written); whatever a cancelled task returns is dropped. A task stopped with
+ * stop() rather than cancel() is only done once its work has actually returned.
+ */
+public class BackgroundTask<T> extends SwingWorker<T, String> {
+
+    /**
+     * The work of a task, run on a worker thread.
+     */
+    public interface Work<T> {
+        T run(TaskProgress progress) throws Exception;
+    }
+
+    private final Work<T> work;
+    private final Consumer<T> onSuccess;
+    private final Consumer<Exception> onFailure;
+    private Consumer<String> stageListener = stage -> { };
+    private volatile boolean stopped = false;
+
+    /**
+     * Constructs a task that runs work and passes its result to onSuccess, or what it threw to
+     * onFailure, on the EDT unless the task was cancelled. The task starts once execute() is called.
+     */
+    public BackgroundTask(Work<T> work, Consumer<T> onSuccess, Consumer<Exception> onFailure) {
+        this.work = work;
+        this.onSuccess = onSuccess;
+        this.onFailure = onFailure;
+    }
+
+    /**
+     * Requires: called on the EDT before execute().
+     * Modifies: this.
+     * Effects: Makes the task pass each stage the work reports to listener, on the EDT.
+     */
+    public void setStageListener(Consumer<String> listener) {
+        this.stageListener = listener;
+    }
+
+    /**
+     * Modifies: this.
+     * Effects: Asks the work to stop, like cancel(false), and drops whatever it returns; unlike
+     *          cancel(), the task is not done until the work has returned.
+     */
+    public void stop() {
+        stopped = true;
+    }
+
+    // Effects: returns true if the task was cancelled or stopped.
+    private boolean isDropped() {
+        return isCancelled() || stopped;
+    }
+
+    @Override
+    protected T doInBackground() throws Exception {
+        return work.run(new TaskProgress() {
+            @Override
+            public void report(int percent, String stage) {
+                setProgress(Math.max(0, Math.min(100, percent)));
+                publish(stage);
+            }
+
+            @Override
+            public boolean isCancelled() {
+                return isDropped();
+            }
+        });
+    }
+
+    // Effects: passes the latest stage reported to the stage listener.
+    @Override
+    protected void process(List<String> stages) {
+        if (!isDropped()) {
+            stageListener.accept(stages.get(stages.size() - 1));
+        }
+    }
+
+    // Effects: passes the outcome of the work to onSuccess or onFailure unless the task was cancelled
+    //          or stopped.
+    @Override
+    protected void done() {
+        if (isDropped()) {
+            return;
+        }
+        try {
+            onSuccess.accept(get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            onFailure.accept(e.getCause() instanceof Exception ? (Exception) e.getCause() : e);
+        }
+    }
+}
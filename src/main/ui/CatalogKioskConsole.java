@@ -0,0 +1,90 @@
+package ui;
+
+import model.Event;
+import model.EventCatalog;
+
+import java.util.List;
+import java.util.Scanner;
+
+/**
+ * CatalogKioskConsole lets visitors browse a published event catalog from the console without
+ * loading the application's saved state. It only reads the catalog, so any number of kiosk processes
+ * can map the same catalog file and share its pages, and starting one costs a mapping, not a parse.
+ */
+public class CatalogKioskConsole {
+    private final EventCatalog catalog;
+    private final Scanner input;
+
+    /**
+     * Requires: catalog is not modified while the kiosk runs.
+     * Modifies: this.
+     * Effects: Creates a kiosk that browses catalog and reads its commands from standard input.
+     */
+    public CatalogKioskConsole(EventCatalog catalog) {
+        this.catalog = catalog;
+        this.input = new Scanner(System.in);
+    }
+
+    /**
+     * Requires: None.
+     * Modifies: None.
+     * Effects: Lets the visitor look events up by name or list them by day range until they choose to exit.
+     */
+    public void run() {
+        System.out.println("Welcome to the Tech Events Hub kiosk! " + catalog.getTotalNumberOfEvents()
+                + " events are listed.");
+        printMenu();
+        int choice = input.nextInt();
+        while (choice != 3) {
+            if (choice == 1) {
+                findEventScript();
+            } else {
+                browseDayRangeScript();
+            }
+            printMenu();
+            choice = input.nextInt();
+        }
+        System.out.println("Goodbye!");
+    }
+
+    private void printMenu() {
+        System.out.println();
+        System.out.println("1: Find an event by name.");
+        System.out.println("2: List the events in a range of days.");
+        System.out.println("3: Exit.");
+    }
+
+    /**
+     * Requires: None.
+     * Modifies: None.
+     * Effects: Prompts for the name of an event and prints its details, or that there is no such event.
+     */
+    private void findEventScript() {
+        System.out.println("Type the name of the event: ");
+        Event e = catalog.findEventWithGivenName(input.next());
+        if (e == null) {
+            System.out.println("No event has that name.");
+        } else {
+            System.out.println(e + " by " + e.getOrganizer() + " at " + e.getTime() + " - " + e.getUrl());
+        }
+    }
+
+    /**
+     * Requires: None.
+     * Modifies: None.
+     * Effects: Prompts for the first and last day of a range and prints the events in it, ordered by day.
+     */
+    private void browseDayRangeScript() {
+        System.out.println("First day: ");
+        int min = input.nextInt();
+        System.out.println("Last day: ");
+        int max = input.nextInt();
+        List<Event> events = catalog.findEventsInRange(min, max);
+        System.out.println("-------");
+        for (Event e : events) {
+            System.out.println(e);
+        }
+        System.out.println(events.size() + " events found.");
+        System.out.println("-------");
+    }
+}
@@ -0,0 +1,278 @@
+package ui;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import model.Event;
+import model.User;
+
+/**
+ * CommandPipeline is the single writer of a TechEventsHubAppRunner. Mutations are submitted as
+ * commands to a bounded queue and applied, in submission order, by one dedicated thread. That
+ * thread drains the queue in batches and applies each batch under a single acquisition of the
+ * runner's write lock. After a batch is applied, the group commit hook runs once for the whole batch
+ * (for example to force the journal to disk), and only then are the batch's futures completed.
+ * A full queue blocks submitters, which throttles bulk posting to the rate the writer can sustain.
+ * Long commands that do not change the runner, such as saving it, can instead be run between two
+ * batches without the write lock: readers keep going, and since no other thread writes the runner,
+ * it cannot change under them either.
+ */
+public class CommandPipeline {
+    public static final int DEFAULT_CAPACITY = 1024;
+    private static final int MAX_BATCH = 256;
+
+    /**
+     * A mutation of the runner, applied on the writer thread.
+     */
+    public interface Command<T> {
+        T apply(TechEventsHubAppRunner appRunner);
+    }
+
+    /**
+     * A durability point run after each batch is applied and before its results are released.
+     */
+    public interface GroupCommit {
+        void commit() throws IOException;
+    }
+
+    // A queued command together with the future its caller is waiting on.
+    private static final class Submission<T> {
+        private final Command<T> command;
+        private final boolean unlocked; // run between batches, without the write lock
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private T value;
+        private RuntimeException failure;
+
+        private Submission(Command<T> command, boolean unlocked) {
+            this.command = command;
+            this.unlocked = unlocked;
+        }
+
+        // Effects: applies the command, remembering its value or failure.
+        private void apply(TechEventsHubAppRunner appRunner) {
+            try {
+                value = command.apply(appRunner);
+            } catch (RuntimeException e) {
+                failure = e;
+            }
+        }
+
+        // Effects: completes the future with the remembered outcome, or with commitFailure if the
+        //          group commit of the batch failed.
+        private void complete(IOException commitFailure) {
+            if (failure != null) {
+                result.completeExceptionally(failure);
+            } else if (commitFailure != null) {
+                result.completeExceptionally(commitFailure);
+            } else {
+                result.complete(value);
+            }
+        }
+    }
+
+    private static final Submission<Void> STOP = new Submission<>(appRunner -> null, false);
+
+    private final TechEventsHubAppRunner appRunner;
+    private final BlockingQueue<Submission<?>> queue;
+    private final GroupCommit groupCommit;
+    private final Thread writer;
+    private volatile boolean closed;
+    private volatile boolean terminated; // set by the writer before its last look at the queue
+
+    /**
+     * Constructs a pipeline that applies commands to appRunner, holding at most capacity pending
+     * commands, and starts its writer thread.
+     *
+     * @param appRunner the runner the commands mutate
+     * @param capacity the number of commands that can wait before submitters block
+     * @param groupCommit run after every batch; a failure fails every command of the batch
+     */
+    public CommandPipeline(TechEventsHubAppRunner appRunner, int capacity, GroupCommit groupCommit) {
+        this.appRunner = appRunner;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.groupCommit = groupCommit;
+        this.writer = new Thread(this::run, "command-pipeline-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Modifies: this.
+     * Effects: Queues command behind every command submitted before it and returns a future for its
+     *          result, which completes once the command is applied and its batch committed. Blocks
+     *          while the queue is full. The future fails with an IllegalStateException if the
+     *          pipeline is closed.
+     */
+    public <T> CompletableFuture<T> submit(Command<T> command) {
+        return enqueue(new Submission<>(command, false));
+    }
+
+    /**
+     * Requires: command does not mutate the runner's events or users.
+     * Modifies: this.
+     * Effects: Queues command like submit(), but the writer thread runs it on its own once the
+     *          commands before it are applied and committed, without holding the write lock, so
+     *          readers are not blocked while it runs. No group commit follows it.
+     */
+    public <T> CompletableFuture<T> submitUnlocked(Command<T> command) {
+        return enqueue(new Submission<>(command, true));
+    }
+
+    // Modifies: this.
+    // Effects: queues submission as described in submit() and returns its future.
+    private <T> CompletableFuture<T> enqueue(Submission<T> submission) {
+        if (closed) {
+            submission.result.completeExceptionally(new IllegalStateException("Pipeline is closed"));
+            return submission.result;
+        }
+        try {
+            queue.put(submission);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            submission.result.completeExceptionally(e);
+            return submission.result;
+        }
+        // close() may have raced past the check above: if the writer has already emptied the queue
+        // for the last time, nobody else will take the submission out again
+        if (terminated && queue.remove(submission)) {
+            submission.result.completeExceptionally(new IllegalStateException("Pipeline is closed"));
+        }
+        return submission.result;
+    }
+
+    // Effects: submits appRunner.addEvent(event).
+    public CompletableFuture<Void> addEvent(Event event) {
+        return submit(r -> {
+            r.addEvent(event);
+            return null;
+        });
+    }
+
+    // Effects: submits appRunner.removeEvent(name); the future holds whether an event was removed.
+    public CompletableFuture<Boolean> removeEvent(String name) {
+        return submit(r -> r.removeEvent(name));
+    }
+
+    // Effects: submits appRunner.findUser(name); the future holds the existing or newly added user.
+    public CompletableFuture<User> findOrAddUser(String name) {
+        return submit(r -> r.findUser(name));
+    }
+
+    // Effects: submits appRunner.addEventToStudent(event, user).
+    public CompletableFuture<Void> addEventToStudent(Event event, User user) {
+        return submit(r -> {
+            r.addEventToStudent(event, user);
+            return null;
+        });
+    }
+
+    // Effects: submits appRunner.updateEvent(event, organizer, time, url).
+    public CompletableFuture<Void> updateEvent(Event event, String organizer, String time, String url) {
+        return submit(r -> {
+            r.updateEvent(event, organizer, time, url);
+            return null;
+        });
+    }
+
+    // Effects: applies batches until close() is called, then fails whatever is still queued.
+    //          A batch that throws, even an Error, fails its pending futures and the writer carries on.
+    private void run() {
+        List<Submission<?>> batch = new ArrayList<>();
+        boolean stopping = false;
+        while (!stopping) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                break;
+            }
+            queue.drainTo(batch, MAX_BATCH - 1);
+            stopping = batch.remove(STOP);
+            try {
+                applyInOrder(batch);
+            } catch (Throwable t) {
+                batch.forEach(s -> s.result.completeExceptionally(t)); // no-op for completed futures
+            }
+            batch.clear();
+        }
+        terminated = true;
+        queue.drainTo(batch);
+        for (Submission<?> s : batch) {
+            s.result.completeExceptionally(new IllegalStateException("Pipeline is closed"));
+        }
+    }
+
+    // Effects: applies the runs of batch between unlocked commands as batches, and each unlocked
+    //          command on its own between them, in submission order.
+    private void applyInOrder(List<Submission<?>> batch) {
+        int start = 0;
+        for (int i = 0; i < batch.size(); i++) {
+            Submission<?> s = batch.get(i);
+            if (s.unlocked) {
+                applyAndCommit(batch.subList(start, i));
+                s.apply(appRunner);
+                s.complete(null);
+                start = i + 1;
+            }
+        }
+        applyAndCommit(batch.subList(start, batch.size()));
+    }
+
+    // Effects: applies batch under one write lock, runs the group commit, then completes the futures.
+    private void applyAndCommit(List<Submission<?>> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        appRunner.applyBatch(() -> {
+            for (Submission<?> s : batch) {
+                s.apply(appRunner);
+            }
+        });
+        IOException commitFailure = null;
+        try {
+            groupCommit.commit();
+        } catch (IOException e) {
+            commitFailure = e;
+        }
+        for (Submission<?> s : batch) {
+            s.complete(commitFailure);
+        }
+    }
+
+    /**
+     * Modifies: this.
+     * Effects: Applies every command submitted so far, then stops the writer thread. Commands
+     *          submitted afterwards fail.
+     */
+    public void close() {
+        closed = true;
+        try {
+            queue.put(STOP);
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Effects: Returns the result of future, waiting for it if needed; a failure of the command is
+     *          rethrown unchanged when it is unchecked.
+     */
+    public static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+}
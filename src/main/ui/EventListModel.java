@@ -0,0 +1,95 @@
+package ui;
+
+import java.util.List;
+
+import javax.swing.AbstractListModel;
+
+import model.CatalogChange;
+import model.Event;
+import model.EventSnapshot;
+
+/**
+ * EventListModel presents a list of events to a JList without copying it. The list is normally an
+ * immutable catalog snapshot, whose size is known up front and whose elements are found in
+ * logarithmic time, so the JList only ever asks for the rows it is about to paint.
+ * A model that follows a catalog is kept current by applying the catalog's changes one row at a
+ * time, so an event posted into a long list repaints that one row rather than the whole list.
+ */
+public class EventListModel extends AbstractListModel<Event> {
+    private static final long serialVersionUID = 1L;
+    private static final long DETACHED = Long.MAX_VALUE; // version of a list that follows no catalog
+
+    private List<Event> events = List.of();
+    private long version = DETACHED; // catalog version events reflects
+
+    @Override
+    public int getSize() {
+        return events.size();
+    }
+
+    @Override
+    public Event getElementAt(int index) {
+        return events.get(index);
+    }
+
+    /**
+     * Modifies: this.
+     * Effects: Shows events instead of the current list and tells the listeners which rows were
+     *          replaced, added or dropped. events must not change afterwards. Catalog changes are
+     *          ignored until follow() is called again.
+     */
+    public void setEvents(List<Event> events) {
+        replace(events);
+        version = DETACHED;
+    }
+
+    /**
+     * Modifies: this.
+     * Effects: Shows snapshot instead of the current list, and from now on applies the changes to
+     *          its catalog that are newer than it.
+     */
+    public void follow(EventSnapshot snapshot) {
+        replace(snapshot);
+        version = snapshot.getVersion();
+    }
+
+    /**
+     * Modifies: this.
+     * Effects: Applies change, the next change to the followed catalog, and tells the listeners about
+     *          the one row it added, removed or changed. Changes already reflected in the list, and
+     *          all changes while no catalog is followed, are ignored.
+     */
+    public void apply(CatalogChange change) {
+        if (change.getVersion() <= version) {
+            return;
+        }
+        events = change.getSnapshot();
+        version = change.getVersion();
+        int index = change.getIndex();
+        switch (change.getKind()) {
+            case ADDED:
+                fireIntervalAdded(this, index, index);
+                break;
+            case REMOVED:
+                fireIntervalRemoved(this, index, index);
+                break;
+            default:
+                fireContentsChanged(this, index, index);
+        }
+    }
+
+    // Effects: shows events instead of the current list and tells the listeners which rows changed.
+    private void replace(List<Event> events) {
+        int oldSize = this.events.size();
+        int newSize = events.size();
+        this.events = events;
+        if (Math.min(oldSize, newSize) > 0) {
+            fireContentsChanged(this, 0, Math.min(oldSize, newSize) - 1);
+        }
+        if (newSize > oldSize) {
+            fireIntervalAdded(this, oldSize, newSize - 1);
+        } else if (oldSize > newSize) {
+            fireIntervalRemoved(this, newSize, oldSize - 1);
+        }
+    }
+}
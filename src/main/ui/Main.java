@@ -1,14 +1,50 @@
 package ui;
 
 
+import persistence.EventLogAppender;
+import persistence.MappedEventCatalog;
+import persistence.SnapshotFormat;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
 import javax.swing.SwingUtilities;
 
 public class Main {
+    private static final String EVENT_LOG_DIRECTORY = "./data/";
+
+    private static final String SERVER_FLAG = "--server";
+    private static final int DEFAULT_PORT = 8080;
+    private static final String FORMAT_FLAG = "--format"; // followed by "json" (default) or "binary"
+    private static final String CATALOG_FLAG = "--catalog"; // followed by a catalog file to browse read-only
+    private static final String EXPORT_FLAG = "--export"; // followed by the plain JSON file to write
+
     public static void main(String[] args) throws Exception {
+        EventLogAppender eventLogAppender = new EventLogAppender(EVENT_LOG_DIRECTORY);
+        eventLogAppender.start();
+        eventLogAppender.installShutdownHook(); // flushes the event log when the GUI exits
+
+        List<String> options = Arrays.asList(args);
+        if (options.contains(CATALOG_FLAG)) {
+            runKiosk(options);
+            return;
+        }
+        SnapshotFormat format = snapshotFormat(options);
+        if (options.contains(EXPORT_FLAG)) {
+            runExport(options, format);
+            return;
+        }
+        int server = options.indexOf(SERVER_FLAG);
+        if (server >= 0) {
+            boolean hasPort = server + 1 < args.length && !args[server + 1].startsWith("--");
+            runServer(hasPort ? Integer.parseInt(args[server + 1]) : DEFAULT_PORT, format);
+            return;
+        }
 
         //PHASE 3 CODE. 
         SwingUtilities.invokeLater(() -> { // SwingUtilities closes program on gui window exit. (EDT: thread)
-            TechEventsHubGUI gui = new TechEventsHubGUI();
+            TechEventsHubGUI gui = new TechEventsHubGUI(format);
             gui.setVisible(true); // so that changes are actually visible. 
         });
 
@@ -30,4 +66,58 @@ public class Main {
 
         
     }
+
+    // Effects: maps the catalog file named after "--catalog" in options and lets visitors browse it
+    //          read-only, without loading the saved state (usage: "--catalog <catalog file>").
+    //          Throws IllegalArgumentException if the file name is missing.
+    private static void runKiosk(List<String> options) throws IOException {
+        int i = options.indexOf(CATALOG_FLAG);
+        if (i + 1 >= options.size()) {
+            throw new IllegalArgumentException("Usage: " + CATALOG_FLAG + " <catalog file>");
+        }
+        new CatalogKioskConsole(MappedEventCatalog.open(options.get(i + 1))).run();
+    }
+
+    // Effects: loads the state saved in format and writes it as plain JSON to the file named after
+    //          "--export" in options, for other tools to import (usage: "--export <file>").
+    //          Throws IllegalArgumentException if the file name is missing.
+    private static void runExport(List<String> options, SnapshotFormat format) {
+        int i = options.indexOf(EXPORT_FLAG);
+        if (i + 1 >= options.size()) {
+            throw new IllegalArgumentException("Usage: " + EXPORT_FLAG + " <file>");
+        }
+        TechEventsAppConsoleRunner backend = new TechEventsAppConsoleRunner();
+        backend.setSnapshotFormat(format);
+        backend.loadProgress();
+        backend.exportJson(options.get(i + 1));
+    }
+
+    // Effects: returns the snapshot format named after "--format" in options (usage:
+    //          "--format json|binary"), or JSON if there is none.
+    //          Throws IllegalArgumentException if the name is missing or not a format.
+    private static SnapshotFormat snapshotFormat(List<String> options) {
+        int i = options.indexOf(FORMAT_FLAG);
+        if (i < 0) {
+            return SnapshotFormat.JSON;
+        }
+        if (i + 1 >= options.size()) {
+            throw new IllegalArgumentException("Usage: " + FORMAT_FLAG + " json|binary");
+        }
+        return SnapshotFormat.valueOf(options.get(i + 1).toUpperCase(Locale.ROOT));
+    }
+
+    // Effects: loads the state saved in format and serves it over HTTP on port without a GUI
+    //          (usage: "--server [port]"); the state is saved when the process is stopped.
+    private static void runServer(int port, SnapshotFormat format) throws IOException {
+        TechEventsAppConsoleRunner backend = new TechEventsAppConsoleRunner();
+        backend.setSnapshotFormat(format);
+        backend.loadProgress();
+        TechEventsHttpServer server = new TechEventsHttpServer(backend.getAppRunner(), backend.getPipeline(), port);
+        server.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.stop();
+            backend.saveProgress();
+        }));
+        System.out.println("TechEvents Hub API listening on port " + server.getPort());
+    }
 }
@@ -0,0 +1,30 @@
+package ui;
+
+/**
+ * TaskProgress is how a long-running operation reports how far it has got, and learns whether
+ * whoever started it has since cancelled it. Operations check isCancelled() between steps and stop
+ * early, leaving the state they work on unchanged, when it returns true.
+ */
+public interface TaskProgress {
+
+    /** Progress that is not reported anywhere and is never cancelled. */
+    TaskProgress NONE = new TaskProgress() {
+        @Override
+        public void report(int percent, String stage) {
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return false;
+        }
+    };
+
+    /**
+     * Requires: 0 <= percent <= 100.
+     * Effects: Reports that the operation is percent done and is now working on stage.
+     */
+    void report(int percent, String stage);
+
+    // Effects: returns true if the operation should stop as soon as it safely can.
+    boolean isCancelled();
+}
@@ -1,28 +1,50 @@
 package ui;
 
-import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
 import java.util.Scanner;
+import java.util.concurrent.CompletionException;
 import model.Event;
+import model.TechEvents;
 import model.User;
+import persistence.BinaryReader;
+import persistence.BinaryWriter;
+import persistence.Journal;
 import persistence.JsonReader;
 import persistence.JsonWriter;
+import persistence.MappedEventCatalog;
+import persistence.SnapshotFormat;
 
 /**
  * TechEventsAppConsoleRunner is responsible for running the console-based interface of the TechEventsHub application.
  * It handles interactions between users and organizers, allowing them to create or find users, 
  * browse and manage events, and save progress.
+ * Every mutation of appRunner, including saving, goes through a CommandPipeline, so changes are
+ * applied and journaled in one order and each batch of them is forced to the journal together.
  */
 
 public class TechEventsAppConsoleRunner {
 
     private static final String JSON_STORE = "./data/TechEventsApp.json";
+    private static final String JSON_JOURNAL_STORE = "./data/TechEventsApp.journal";
+    private static final String BINARY_STORE = "./data/TechEventsApp.bin";
+    private static final String BINARY_JOURNAL_STORE = "./data/TechEventsApp.bin.journal";
+    private static final String CATALOG_STORE = "./data/TechEventsApp.catalog"; // for "--catalog" kiosks
+    private static final int COMPACTION_THRESHOLD = 1000; // journal records before folding into a snapshot
 
     private Scanner input;
-    private TechEventsHubAppRunner appRunner;
+    private volatile TechEventsHubAppRunner appRunner; // swapped by loadProgress(), possibly off the UI thread
 
     private JsonWriter jsonWriter;
     private JsonReader jsonReader;
+    private BinaryWriter binaryWriter;
+    private BinaryReader binaryReader;
+    private Journal jsonJournal; // changes since the JSON snapshot
+    private Journal binaryJournal; // changes since the binary snapshot
+    private SnapshotFormat snapshotFormat; // format used by saveProgress() and loadProgress()
+    private volatile SnapshotFormat attachedFormat; // format whose snapshot + journal appRunner matches, if any
+    private volatile CommandPipeline pipeline; // single writer of appRunner
 
     /**
      * Constructor for the TechEventsAppConsoleRunner.
@@ -36,6 +58,13 @@ public class TechEventsAppConsoleRunner {
         appRunner = new TechEventsHubAppRunner();
         jsonWriter = new JsonWriter(JSON_STORE);
         jsonReader = new JsonReader(JSON_STORE);
+        binaryWriter = new BinaryWriter(BINARY_STORE);
+        binaryReader = new BinaryReader(BINARY_STORE);
+        jsonJournal = new Journal(JSON_JOURNAL_STORE);
+        binaryJournal = new Journal(BINARY_JOURNAL_STORE);
+        snapshotFormat = SnapshotFormat.JSON;
+        attachedFormat = null;
+        pipeline = newPipeline();
     }
 
     /**
@@ -48,6 +77,17 @@ public class TechEventsAppConsoleRunner {
     public TechEventsAppConsoleRunner(TechEventsHubAppRunner appRunner) {
         input = new Scanner(System.in);
         this.appRunner = appRunner;
+        pipeline = newPipeline();
+    }
+
+    // Effects: returns a pipeline writing to appRunner whose group commit forces the attached journal.
+    private CommandPipeline newPipeline() {
+        return new CommandPipeline(appRunner, CommandPipeline.DEFAULT_CAPACITY, () -> {
+            Journal journal = attachedFormat == null ? null : journalFor(attachedFormat);
+            if (journal != null && journal.isHealthy()) {
+                journal.sync();
+            }
+        });
     }
 
     /**
@@ -148,7 +188,7 @@ public class TechEventsAppConsoleRunner {
         System.out.println();
         System.out.println("What is your name?");
         String name = input.next();
-        return appRunner.addUser(name, "Student");
+        return CommandPipeline.await(pipeline.submit(r -> r.addUser(name, "Student")));
     }
    
 
@@ -161,7 +201,7 @@ public class TechEventsAppConsoleRunner {
         System.out.println();
         System.out.println("What is your name?");
         String name = input.next();
-        return appRunner.findUser(name);
+        return mapOrCreateUser(name);
     }
 
 
@@ -171,7 +211,7 @@ public class TechEventsAppConsoleRunner {
      * Effects: Finds and returns the User object if found.
      */
     public User mapOrCreateUser(String name) {
-        return appRunner.findUser(name);
+        return CommandPipeline.await(pipeline.findOrAddUser(name));
     }
 
     /**
@@ -220,15 +260,23 @@ public class TechEventsAppConsoleRunner {
         if (eventFound == null) {
             System.out.println("Was not able to find the given event, no event added :(");
         } else {
-            appRunner.addEventToStudent(eventFound, currentUser);
+            CommandPipeline.await(pipeline.addEventToStudent(eventFound, currentUser));
             System.out.println("Event is added to your calender!");
         }
     }
 
     public void addEventToStudentCalender(String eventName, User currentUser) {
-        Event eventFound = findEventWithGivenName(eventName);
-        appRunner.addEventToStudent(eventFound, currentUser);
-           
+        addEventToStudentCalender(findEventWithGivenName(eventName), currentUser);
+    }
+
+    /**
+     * Requires: event is a posted event and currentUser is already a part of Users list.
+     * Modifies: currentUser (User object).
+     * Effects: Adds event to the calendar of currentUser.
+     */
+    public void addEventToStudentCalender(Event event, User currentUser) {
+        CommandPipeline.await(pipeline.addEventToStudent(event, currentUser));
+
     }
 
     /**
@@ -243,6 +291,11 @@ public class TechEventsAppConsoleRunner {
         return appRunner.viewEventsInUserCalender(currentUser);
     }
 
+    // Effects: returns the events in currentUser's calendar.
+    public List<Event> getEventsInMyCalender(User currentUser) {
+        return appRunner.getEventsInUserCalender(currentUser);
+    }
+
     /**
      * Requires: name (String) of the event to find.
      * Effects: Searches for an event by the given name and returns the corresponding Event object.
@@ -259,27 +312,32 @@ public class TechEventsAppConsoleRunner {
      */
     public void organizer() {
         System.out.println();
-        System.out.println("1: I would like to view events. ");
-        System.out.println("2: I would like to add an event. ");
-        System.out.println("3: I would like to exit. ");
+        printOrganizerMenu();
         int current = input.nextInt();
         while (current != 3) {
             if (current == 1) {
                 browseEvents();
             } else if (current == 2) {
                 postAnEventScript();
+            } else if (current == 4) {
+                editAnEventScript();
             }
             System.out.println();
             System.out.println(" --- Welcome Back Organizer ---");
-            System.out.println("1: I would like to view events. ");
-            System.out.println("2: I would like to add an event. ");
-            System.out.println("3: I would like to exit. ");
+            printOrganizerMenu();
             current = input.nextInt();
         }
         System.out.println("Exited!");
         System.out.println();
     }
 
+    private void printOrganizerMenu() {
+        System.out.println("1: I would like to view events. ");
+        System.out.println("2: I would like to add an event. ");
+        System.out.println("3: I would like to exit. ");
+        System.out.println("4: I would like to edit an event. ");
+    }
+
     /**
      * Requires: Day >= 0, eventName to be unique.
      * Modifies: TechHubEvents, Event, TechEventsHubAppRunner.
@@ -306,63 +364,290 @@ public class TechEventsAppConsoleRunner {
         url = input.next();
         System.out.println();
         System.out.println("Event Is Posted!");
-        appRunner.addEvent(eventName, organizer, day, time, url);
+        postAnEvent(eventName, organizer, day, time, url);
     }
 
     public void postAnEvent(String eventName, String organizer, Integer eventDay, String time, String url) {
-        appRunner.addEvent(eventName, organizer, eventDay, time, url);
+        CommandPipeline.await(pipeline.addEvent(new Event(eventName, organizer, eventDay, time, url)));
+    }
+
+    /**
+     * Requires: None.
+     * Modifies: Event, TechEvents, TechEventsHubAppRunner.
+     * Effects: Prompts the organizer for the name of an event and its new organizer, time and url,
+     *          and updates the event, or says that no event has that name.
+     */
+    public void editAnEventScript() {
+        System.out.println("Enter the name of the event to edit:");
+        Event e = findEventWithGivenName(input.next());
+        if (e == null) {
+            System.out.println("No event has that name.");
+            return;
+        }
+        System.out.println("Enter the new organization name:");
+        String organizer = input.next();
+        System.out.println("Enter the new time the event is held:");
+        String time = input.next();
+        System.out.println("Enter the new event url:");
+        String url = input.next();
+        editAnEvent(e, organizer, time, url);
+        System.out.println("Event Is Updated!");
+    }
+
+    public void editAnEvent(Event e, String organizer, String time, String url) {
+        CommandPipeline.await(pipeline.updateEvent(e, organizer, time, url));
     }
 
 
      /**
-     * Saves the current state of the application by writing the appRunner object to a JSON file.
-     * This method is responsible for persisting the user's progress to the specified file.
+     * Saves the current state of the application in the default snapshot format.
      * 
-     * Modifies: None.
-     * Effects: Writes the appRunner state to the JSON_STORE file.
-     * If the file cannot be written to, an error message is displayed.
+     * Modifies: this.
+     * Effects: Same as saveProgress(snapshotFormat).
      */
     public void saveProgress() {
-        try {
-            // Open the writer to begin writing to the JSON file
-            jsonWriter.open();
+        saveProgress(snapshotFormat);
+    }
 
-            // Write the current state of the appRunner to the file
-            jsonWriter.write(appRunner);
+     /**
+     * Saves the current state of the application in the given snapshot format.
+     * Once the in-memory state is backed by that format's snapshot + journal, saving only forces the
+     * journaled mutations to disk. A full snapshot is written (and the journal emptied) the first time,
+     * when the journal has grown past COMPACTION_THRESHOLD records, or when journaling failed.
+     * 
+     * Modifies: this.
+     * Effects: Persists the appRunner state to the snapshot and journal files of format.
+     * If the files cannot be written to, an error message is displayed.
+     */
+    public void saveProgress(SnapshotFormat format) {
+        saveProgress(format, TaskProgress.NONE);
+    }
 
-            // Close the writer after writing is complete
-            jsonWriter.close();
+    /**
+     * Saves as saveProgress() does, reporting to progress. Nothing is written if progress is
+     * cancelled before the save starts; once it has started, the save runs to completion so the
+     * files are never left half-written.
+     * 
+     * Modifies: this.
+     * Effects: Returns true if the state was saved.
+     */
+    public boolean saveProgress(TaskProgress progress) {
+        return saveProgress(snapshotFormat, progress);
+    }
 
-            // Inform the user that the progress has been saved
-            System.out.println("Saved " + "TechEventsApp.json" + " to " + JSON_STORE);
-            System.out.println(appRunner.getLog());
-        } catch (FileNotFoundException e) {
+    // Modifies: this.
+    // Effects: saves as saveProgress(format) does, reporting to progress; returns true if the state
+    //          was saved. Nothing is written if progress is cancelled before the save starts.
+    private boolean saveProgress(SnapshotFormat format, TaskProgress progress) {
+        if (progress.isCancelled()) {
+            return false;
+        }
+        try {
+            progress.report(0, "Saving to " + storeFor(format));
+            // Save on the writer thread, so no mutation slips between the snapshot and the journal reset,
+            // but without the write lock, so readers keep going while the snapshot is written
+            System.out.println(pipeline.submitUnlocked(r -> saveOnWriterThread(format)).join());
+            appRunner.printLog(System.out);
+            progress.report(100, "Saved");
+            return true;
+        } catch (IOException | CompletionException e) {
             // Handle the case where the file could not be opened or written to
-            System.out.println("Unable to write to file: " + JSON_STORE);
+            System.out.println("Unable to write to file: " + storeFor(format));
+            return false;
+        }
+    }
+
+    // Requires: called by the pipeline's writer thread, between batches.
+    // Effects: saves as described in saveProgress(format), publishes the catalog file, and returns
+    //          the message to display.
+    //          Throws an UncheckedIOException if the snapshot or journal cannot be written.
+    private String saveOnWriterThread(SnapshotFormat format) {
+        Journal journal = journalFor(format);
+        String saved;
+        try {
+            if (attachedFormat != format || !journal.isHealthy() || journal.getEntryCount() >= COMPACTION_THRESHOLD) {
+                compact(format);
+                saved = "Saved snapshot to " + storeFor(format);
+            } else {
+                journal.sync();
+                saved = "Saved " + journal.getEntryCount() + " journaled changes for " + storeFor(format);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return saved + "\n" + publishCatalog();
+    }
+
+    // Effects: writes the posted events to the catalog file that "--catalog" kiosks map, and returns
+    //          the message to display. The state is saved either way, so a failure is only reported.
+    private String publishCatalog() {
+        try {
+            MappedEventCatalog.write(appRunner.getAppEvents(), CATALOG_STORE);
+            return "Published catalog to " + CATALOG_STORE;
+        } catch (IOException e) {
+            return "Unable to publish catalog to " + CATALOG_STORE;
+        }
+    }
+
+    /**
+     * Modifies: this.
+     * Effects: Writes the full appRunner state to the snapshot file of format, empties that format's
+     *          journal, and attaches it to appRunner so that later saves only append changes.
+     *          Throws an IOException if either file cannot be written.
+     */
+    private void compact(SnapshotFormat format) throws IOException {
+        appRunner.setJournal(null);
+        attachedFormat = null;
+
+        try {
+            writeSnapshot(format);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
         }
+
+        journalFor(format).reset();
+        appRunner.setJournal(journalFor(format));
+        attachedFormat = format;
+    }
+
+    // Effects: writes the full appRunner state with the writer for format.
+    private void writeSnapshot(SnapshotFormat format) throws IOException {
+        if (format == SnapshotFormat.BINARY) {
+            binaryWriter.open();
+            binaryWriter.write(appRunner);
+            binaryWriter.close();
+        } else {
+            jsonWriter.open();
+            jsonWriter.write(appRunner);
+            jsonWriter.close();
+        }
+    }
+
+    /**
+     * Loads the previously saved state of the application in the default snapshot format.
+     * 
+     * Modifies: appRunner (restores state from the file).
+     * Effects: Same as loadProgress(snapshotFormat).
+     */
+    public void loadProgress() {
+        loadProgress(snapshotFormat);
     }
 
     /**
-     * Loads the previously saved state of the application from a JSON file.
+     * Loads the previously saved state of the application from a snapshot of the given format.
      * This method retrieves the appRunner object from the file and restores the application's progress.
      * 
      * Modifies: appRunner (restores state from the file).
-     * Effects: Reads the appRunner state from the JSON_STORE file.
+     * Effects: Reads the appRunner state from the snapshot file of format and replays the changes
+     * journaled since that snapshot was written.
      * If the file cannot be read, an error message is displayed.
      */
-    public void loadProgress() {
+    public void loadProgress(SnapshotFormat format) {
+        loadProgress(format, TaskProgress.NONE);
+    }
+
+    /**
+     * Loads as loadProgress() does, reporting to progress after each step. If progress is cancelled
+     * before the loaded state is swapped in, the current state is kept.
+     * 
+     * Modifies: appRunner (restores state from the file).
+     * Effects: Returns true if the saved state was loaded.
+     */
+    public boolean loadProgress(TaskProgress progress) {
+        return loadProgress(snapshotFormat, progress);
+    }
+
+    // Modifies: appRunner
+    // Effects: loads as loadProgress(format) does, reporting to progress; returns true if the saved
+    //          state was loaded, false if it could not be read or progress was cancelled first.
+    private boolean loadProgress(SnapshotFormat format, TaskProgress progress) {
         try {
-            // Read the saved state of the appRunner from the file
-            appRunner = jsonReader.read();
+            // Read the saved state of the appRunner from the file, one event/user at a time
+            progress.report(0, "Reading " + storeFor(format));
+            TechEventsHubAppRunner loaded = format == SnapshotFormat.BINARY
+                    ? binaryReader.read() : jsonReader.readStreaming();
+
+            // Re-apply the changes made since the snapshot, then keep journaling new ones
+            progress.report(80, "Replaying changes since the snapshot");
+            journalFor(format).replay(loaded);
+            if (progress.isCancelled()) {
+                return false;
+            }
+            attach(loaded, format);
+            progress.report(100, "Loaded");
 
             // Inform the user that the progress has been successfully loaded
-            System.out.println("Loaded " + "TechEventsApp.json" + " from " + JSON_STORE);
+            System.out.println("Loaded snapshot from " + storeFor(format));
+            return true;
         } catch (IOException e) {
             // Handle the case where the file could not be read
-            System.out.println("Unable to read from file: " + JSON_STORE);
+            System.out.println("Unable to read from file: " + storeFor(format));
+            return false;
+        }
+    }
+
+    // Modifies: this
+    // Effects: makes loaded, read from the snapshot + journal of format, the current state and
+    //          starts journaling its changes.
+    private void attach(TechEventsHubAppRunner loaded, SnapshotFormat format) {
+        loaded.setJournal(journalFor(format));
+        pipeline.close();
+        appRunner = loaded;
+        attachedFormat = format;
+        pipeline = newPipeline();
+    }
+
+    /**
+     * Exports the current state for other tools to import.
+     * 
+     * Modifies: the file at destination.
+     * Effects: Writes the current state to destination as a plain JSON document, without the
+     *          checksum trailer of snapshots; the snapshot and journal are left as they are.
+     *          Returns true if the file was written, and displays an error message otherwise.
+     */
+    public boolean exportJson(String destination) {
+        JsonWriter exporter = JsonWriter.forExport(destination);
+        try {
+            // write() holds the read lock throughout, so the export is one consistent state
+            exporter.open();
+            exporter.write(appRunner);
+            exporter.close();
+            System.out.println("Exported to " + destination);
+            return true;
+        } catch (IOException | UncheckedIOException e) {
+            System.out.println("Unable to write to file: " + destination);
+            return false;
         }
     }
 
+    // Effects: returns the runner holding the current state; replaced by loadProgress().
+    TechEventsHubAppRunner getAppRunner() {
+        return appRunner;
+    }
+
+    // Effects: returns the pipeline that mutates getAppRunner(); replaced by loadProgress().
+    CommandPipeline getPipeline() {
+        return pipeline;
+    }
+
+    /**
+     * Modifies: this.
+     * Effects: Sets the snapshot format used by saveProgress() and loadProgress().
+     */
+    public void setSnapshotFormat(SnapshotFormat format) {
+        this.snapshotFormat = format;
+    }
+
+    // Effects: returns the snapshot file path for format.
+    private String storeFor(SnapshotFormat format) {
+        return format == SnapshotFormat.BINARY ? BINARY_STORE : JSON_STORE;
+    }
+
+    // Effects: returns the journal paired with the snapshot file of format.
+    private Journal journalFor(SnapshotFormat format) {
+        return format == SnapshotFormat.BINARY ? binaryJournal : jsonJournal;
+    }
+
 
     /**
     * Requires: None.
@@ -380,6 +665,25 @@ public class TechEventsAppConsoleRunner {
         return appRunner.returnPostedEvents();
     }
 
+    // Effects: returns the posted events in posting order.
+    public List<Event> getPostedEventList() {
+        return appRunner.getPostedEvents();
+    }
+
+    // Effects: returns the catalog of posted events, to follow its changes; replaced by loadProgress().
+    public TechEvents getPostedEventCatalog() {
+        return appRunner.getAppEvents();
+    }
+
+    /**
+     * Requires: None.
+     * Modifies: None.
+     * Effects: Returns the events within the specified day range, ordered by day.
+     */
+    public List<Event> filterEventsByDayRange(int min, int max) {
+        return appRunner.findEventsInRange(min, max);
+    }
+
     /**
      * Requires: min and max are valid day values (0 <= min, max <= 365).
      * Modifies: None.
@@ -396,7 +700,7 @@ public class TechEventsAppConsoleRunner {
      *          Returns true if the event was found and removed, false otherwise.
      */
     public boolean removeEvent(String name) {
-        return appRunner.removeEvent(name);
+        return CommandPipeline.await(pipeline.removeEvent(name));
     }
 
 
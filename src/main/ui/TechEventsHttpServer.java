@@ -0,0 +1,334 @@
+package ui;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import model.Event;
+import model.User;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.json.JSONTokener;
+
+/**
+ * TechEventsHttpServer exposes the operations of a TechEventsHubAppRunner as a JSON API over HTTP,
+ * using the JDK's built-in HTTP server. Reads go straight to the runner (they use its lock-free
+ * snapshot and optimistic lookups); mutations are submitted to the runner's CommandPipeline.
+ *
+ * Routes:
+ *   GET    /events?min=&max=    all events, or those in the day range    (optional ?name= for one)
+ *   POST   /events              post {"name", "organizer", "day", "time", "url"}
+ *   DELETE /events?name=        remove an event
+ *   GET    /users?name=         find a user
+ *   POST   /users               find or create {"name"}
+ *   GET    /calendar?user=      the events in a user's calendar
+ *   POST   /calendar            add {"user", "event"} to a user's calendar
+ *
+ * Each request is handled on its own virtual thread when the JVM provides them, so blocked requests
+ * do not tie up platform threads; older JVMs fall back to a cached thread pool.
+ *
+ * Catalog reads (GET /events) are cached: the serialized response to each distinct query is kept
+ * together with the catalog version it was built from and reused until an event is posted or
+ * removed. Responses carry an ETag naming that version, and a request whose If-None-Match still
+ * matches it is answered with 304 Not Modified and no body.
+ */
+public class TechEventsHttpServer {
+    private static final int MAX_CACHED_QUERIES = 1024;
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final TechEventsHubAppRunner appRunner;
+    private final CommandPipeline pipeline;
+    private final String etagPrefix; // distinguishes this process's versions from a previous run's
+    private final Map<String, Response> catalogCache = new ConcurrentHashMap<>(); // query -> response
+
+    /**
+     * A handler for one route; returns the response to send.
+     */
+    private interface Route {
+        Response handle(HttpExchange exchange) throws IOException;
+    }
+
+    /**
+     * A response status with its JSON body, and for cacheable responses the catalog version the body
+     * was built from and the matching ETag.
+     */
+    private static final class Response {
+        private final int status;
+        private final byte[] body;
+        private final long version;
+        private final String etag;
+
+        private Response(int status, JSONObject body) {
+            this(status, body.toString().getBytes(StandardCharsets.UTF_8), -1, null);
+        }
+
+        private Response(int status, byte[] body, long version, String etag) {
+            this.status = status;
+            this.body = body;
+            this.version = version;
+            this.etag = etag;
+        }
+    }
+
+    /**
+     * Constructs a server for appRunner bound to port (0 picks a free port). Mutations are applied
+     * through pipeline, which must write to appRunner.
+     * Throws an IOException if the port cannot be bound.
+     */
+    public TechEventsHttpServer(TechEventsHubAppRunner appRunner, CommandPipeline pipeline, int port)
+            throws IOException {
+        this.appRunner = appRunner;
+        this.pipeline = pipeline;
+        this.etagPrefix = "\"" + Long.toHexString(System.currentTimeMillis()) + "-";
+        this.server = HttpServer.create(new InetSocketAddress(port), 0);
+        this.executor = newRequestExecutor();
+        server.setExecutor(executor);
+        server.createContext("/events", exchange -> serve(exchange, this::events));
+        server.createContext("/users", exchange -> serve(exchange, this::users));
+        server.createContext("/calendar", exchange -> serve(exchange, this::calendar));
+    }
+
+    // Effects: returns an executor that runs each task on a new virtual thread, or a cached thread
+    //          pool when this JVM has no virtual threads.
+    static ExecutorService newRequestExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool();
+        }
+    }
+
+    // Modifies: this
+    // Effects: starts accepting requests.
+    public void start() {
+        server.start();
+    }
+
+    // Modifies: this
+    // Effects: stops accepting requests, waits up to a second for those in flight, and shuts down
+    //          the request threads.
+    public void stop() {
+        server.stop(1);
+        executor.shutdown();
+    }
+
+    // Effects: returns the port the server is bound to.
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    // Effects: runs route for exchange and sends its response; malformed input is answered with
+    //          400 and any other failure with 500.
+    private void serve(HttpExchange exchange, Route route) throws IOException {
+        Response response;
+        try {
+            response = route.handle(exchange);
+        } catch (JSONException | IllegalArgumentException e) {
+            response = error(400, e.getMessage());
+        } catch (RuntimeException e) {
+            response = error(500, String.valueOf(e.getMessage()));
+        }
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        if (response.etag != null) {
+            exchange.getResponseHeaders().set("ETag", response.etag);
+        }
+        boolean notModified = response.etag != null
+                && matches(exchange.getRequestHeaders().getFirst("If-None-Match"), response.etag);
+        if (notModified) {
+            // A 304 is finished by sendResponseHeaders itself, and the server drops the kept-alive
+            // connection if the request body has not been read to the end by then
+            exchange.getRequestBody().close();
+            exchange.sendResponseHeaders(304, -1);
+            exchange.close();
+            return;
+        }
+        exchange.sendResponseHeaders(response.status, response.body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(response.body);
+        }
+    }
+
+    // Effects: returns true if the If-None-Match header value lists etag or is "*".
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || tag.equals(etag) || tag.equals("W/" + etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Effects: handles /events.
+    private Response events(HttpExchange exchange) {
+        Map<String, String> query = query(exchange);
+        switch (exchange.getRequestMethod()) {
+            case "GET":
+                return cachedCatalogRead(query);
+            case "POST":
+                return postEvent(body(exchange));
+            case "DELETE":
+                boolean removed = CommandPipeline.await(pipeline.removeEvent(required(query, "name")));
+                return removed ? new Response(200, new JSONObject().put("removed", true))
+                        : error(404, "No such event");
+            default:
+                return error(405, "Method not allowed");
+        }
+    }
+
+    // Effects: returns the response to a catalog read, reusing the cached response to the same query
+    //          if the catalog has not changed since it was built. The version is read before the
+    //          catalog, so a cached body is never older than the version it is tagged with.
+    private Response cachedCatalogRead(Map<String, String> query) {
+        long version = appRunner.getAppEvents().snapshot().getVersion();
+        String key = canonicalQuery(query);
+        Response cached = catalogCache.get(key);
+        if (cached == null || cached.version != version) {
+            Response fresh = catalogRead(query);
+            cached = new Response(fresh.status, fresh.body, version, etagPrefix + version + "\"");
+            if (catalogCache.size() >= MAX_CACHED_QUERIES) {
+                catalogCache.clear();
+            }
+            catalogCache.put(key, cached);
+        }
+        return cached;
+    }
+
+    // Effects: returns the cache key for a catalog read, so that equivalent queries share one entry;
+    //          throws an IllegalArgumentException for malformed day bounds.
+    private static String canonicalQuery(Map<String, String> query) {
+        if (query.containsKey("name")) {
+            return "name=" + query.get("name");
+        }
+        if (!query.containsKey("min") && !query.containsKey("max")) {
+            return "all";
+        }
+        return "min=" + Integer.parseInt(query.getOrDefault("min", "0"))
+                + "&max=" + Integer.parseInt(query.getOrDefault("max", "365"));
+    }
+
+    // Effects: builds the response to a catalog read from the current catalog.
+    private Response catalogRead(Map<String, String> query) {
+        if (query.containsKey("name")) {
+            Event e = appRunner.findEvent(query.get("name"));
+            return e == null ? error(404, "No such event") : new Response(200, e.toJson());
+        }
+        return new Response(200, new JSONObject().put("events", eventsInRange(query)));
+    }
+
+    // Effects: posts the event described by body and returns it with its assigned ID.
+    private Response postEvent(JSONObject body) {
+        Event posted = new Event(body.getString("name"), body.optString("organizer", "Not Provided"),
+                body.getInt("day"), body.optString("time", "Not Provided"), body.optString("url", "Not Provided"));
+        CommandPipeline.await(pipeline.addEvent(posted));
+        return new Response(201, posted.toJson());
+    }
+
+    // Effects: returns the events in the day range given by the min and max query parameters, or
+    //          every posted event when neither is given.
+    private JSONArray eventsInRange(Map<String, String> query) {
+        if (!query.containsKey("min") && !query.containsKey("max")) {
+            return toJson(appRunner.getAppEvents().getEvents());
+        }
+        int min = Integer.parseInt(query.getOrDefault("min", "0"));
+        int max = Integer.parseInt(query.getOrDefault("max", "365"));
+        return toJson(appRunner.findEventsInRange(min, max));
+    }
+
+    // Effects: handles /users.
+    private Response users(HttpExchange exchange) {
+        switch (exchange.getRequestMethod()) {
+            case "GET":
+                User u = appRunner.findExistingUser(required(query(exchange), "name"));
+                return u == null ? error(404, "No such user") : new Response(200, toJson(u));
+            case "POST":
+                String name = body(exchange).getString("name");
+                return new Response(200, toJson(CommandPipeline.await(pipeline.findOrAddUser(name))));
+            default:
+                return error(405, "Method not allowed");
+        }
+    }
+
+    // Effects: handles /calendar.
+    private Response calendar(HttpExchange exchange) {
+        switch (exchange.getRequestMethod()) {
+            case "GET":
+                User u = appRunner.findExistingUser(required(query(exchange), "user"));
+                return u == null ? error(404, "No such user") : new Response(200, toJson(u));
+            case "POST":
+                JSONObject body = body(exchange);
+                Event e = appRunner.findEvent(body.getString("event"));
+                if (e == null) {
+                    return error(404, "No such event");
+                }
+                User user = CommandPipeline.await(pipeline.findOrAddUser(body.getString("user")));
+                CommandPipeline.await(pipeline.addEventToStudent(e, user));
+                return new Response(200, toJson(user));
+            default:
+                return error(405, "Method not allowed");
+        }
+    }
+
+    // Effects: returns u as JSON, with the events of its calendar spelled out.
+    private static JSONObject toJson(User u) {
+        return new JSONObject().put("name", u.getName()).put("category", u.getCategory())
+                .put("events", toJson(u.getEvents().getEvents()));
+    }
+
+    private static JSONArray toJson(List<Event> events) {
+        JSONArray array = new JSONArray();
+        for (Event e : events) {
+            array.put(e.toJson());
+        }
+        return array;
+    }
+
+    private static Response error(int status, String message) {
+        return new Response(status, new JSONObject().put("error", message));
+    }
+
+    // Effects: returns the decoded query parameters of the request URI.
+    private static Map<String, String> query(HttpExchange exchange) {
+        Map<String, String> params = new HashMap<>();
+        String raw = exchange.getRequestURI().getRawQuery();
+        if (raw != null) {
+            for (String pair : raw.split("&")) {
+                int eq = pair.indexOf('=');
+                String key = eq < 0 ? pair : pair.substring(0, eq);
+                String value = eq < 0 ? "" : pair.substring(eq + 1);
+                params.put(URLDecoder.decode(key, StandardCharsets.UTF_8),
+                        URLDecoder.decode(value, StandardCharsets.UTF_8));
+            }
+        }
+        return params;
+    }
+
+    // Effects: returns the parameter key, or throws an IllegalArgumentException if it is missing.
+    private static String required(Map<String, String> query, String key) {
+        String value = query.get(key);
+        if (value == null) {
+            throw new IllegalArgumentException("Missing query parameter: " + key);
+        }
+        return value;
+    }
+
+    // Effects: parses the request body as a JSON object.
+    private static JSONObject body(HttpExchange exchange) {
+        return new JSONObject(new JSONTokener(exchange.getRequestBody()));
+    }
+}
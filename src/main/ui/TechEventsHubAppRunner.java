@@ -1,26 +1,44 @@
 package ui;
 
+import org.json.JSONArray;
 import org.json.JSONObject;
+import org.json.JSONWriter;
 import persistence.Writable;
 
 //import java.util.ArrayList;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Supplier;
 
 import model.TechEvents;
 import model.Event;
 import model.Users;
 import model.User;
 import model.EventLog;
+import persistence.Journal;
 
 /**
  * TechEventsHubAppRunner is responsible for managing the events and users within the TechEventsHub application.
  * It provides functionality for adding events, viewing events, finding users, and managing user calendars.
  * This class acts as the backend for the application, storing data and interacting with the users and events.
+ *
+ * A runner is safe to share between threads. Mutations take an exclusive write lock, so they are
+ * applied (and journaled) one at a time in a single order. Single lookups run as StampedLock
+ * optimistic reads that take no lock unless a writer interferes. The posted-events views read an
+ * immutable snapshot of the catalog without locking, and the remaining views that walk whole
+ * collections hold the shared read lock, so any number of readers can proceed in parallel.
  */
 
 public class TechEventsHubAppRunner implements Writable {
     private TechEvents appEvents;
     private Users appUsers;
+    private Journal journal; // records every mutation when attached; null otherwise
+    private final StampedLock lock = new StampedLock();
+    private volatile Thread batchWriter; // thread running applyBatch() under the write lock, if any
 
     /**
      * Constructor for TechEventsHubAppRunner.
@@ -50,10 +68,23 @@ public class TechEventsHubAppRunner implements Writable {
     // Modifies: this.appEvents
     // Effects: Creates an Event with the specified name, organizer, and day, and adds it to appEvents.
     public void addEvent(String name, String organizer, int day, String time, String url) {
-        Event event = new Event(name, organizer, day, time, url);
-        appEvents.addEvent(event);
-        appEvents.logEventAddition(event);
-        
+        addEvent(new Event(name, organizer, day, time, url));
+    }
+
+    // Requires: event is not already part of appEvents.
+    // Modifies: this.appEvents, journal
+    // Effects: Adds the given event to appEvents and journals the addition.
+    public void addEvent(Event event) {
+        long stamp = beginWrite();
+        try {
+            appEvents.addEvent(event);
+            appEvents.logEventAddition(event);
+            if (journal != null) {
+                journal.recordAddEvent(event);
+            }
+        } finally {
+            endWrite(stamp);
+        }
     }
 
     /**
@@ -65,10 +96,101 @@ public class TechEventsHubAppRunner implements Writable {
      */
     public User addUser(String name, String category) {
         User u = new User(name, category);
-        appUsers.addUser(u);
+        addUserIfAbsent(u);
         return u;
     }
 
+    // Modifies: this.appUsers, journal
+    // Effects: Adds u to appUsers and journals it, unless a user with the same name already exists.
+    //          Returns the user registered under u's name afterwards.
+    private User addUserIfAbsent(User u) {
+        long stamp = beginWrite();
+        try {
+            appUsers.addUser(u);
+            User registered = appUsers.findUser(u.getName());
+            if (journal != null && registered == u) {
+                journal.recordAddUser(u);
+            }
+            return registered;
+        } finally {
+            endWrite(stamp);
+        }
+    }
+
+    // Effects: returns reader's result computed as an optimistic read, without locking; if a writer
+    //          ran concurrently (detected by validation, or by the reader failing on a half-updated
+    //          collection), computes it again under the read lock.
+    private <T> T optimisticRead(Supplier<T> reader) {
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            try {
+                T result = reader.get();
+                if (lock.validate(stamp)) {
+                    return result;
+                }
+            } catch (RuntimeException e) {
+                // a writer was mid-update; fall through and read under the lock
+            }
+        }
+        return lockedRead(reader);
+    }
+
+    // Effects: returns reader's result computed while holding the read lock.
+    private <T> T lockedRead(Supplier<T> reader) {
+        if (batchWriter == Thread.currentThread()) {
+            return reader.get(); // already exclusive
+        }
+        long stamp = lock.readLock();
+        try {
+            return reader.get();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    // Effects: acquires the write lock and returns its stamp, or returns 0 when the calling thread
+    //          already holds it for applyBatch().
+    private long beginWrite() {
+        return batchWriter == Thread.currentThread() ? 0 : lock.writeLock();
+    }
+
+    // Effects: releases the write lock acquired by beginWrite().
+    private void endWrite(long stamp) {
+        if (stamp != 0) {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Modifies: this.
+     * Effects: Runs batch while holding the write lock once, so that every mutation it makes
+     *          through this runner is applied without further locking and readers see either none
+     *          or all of them.
+     */
+    public void applyBatch(Runnable batch) {
+        long stamp = lock.writeLock();
+        batchWriter = Thread.currentThread();
+        try {
+            batch.run();
+        } finally {
+            batchWriter = null;
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Requires: reader does not modify this runner.
+     * Modifies: None.
+     * Effects: Runs reader while holding the read lock, so that it sees the events and users
+     *          returned by getAppEvents() and getAppUsers() in a consistent state.
+     */
+    public void withReadLock(Runnable reader) {
+        lockedRead(() -> {
+            reader.run();
+            return null;
+        });
+    }
+
     /**
      * Requires: None.
      * Modifies: None.
@@ -94,16 +216,35 @@ public class TechEventsHubAppRunner implements Writable {
      * If no events exist, a message indicating there are no events is displayed.
      */
     public String returnPostedEvents() {
-        String s = "";
+        StringBuilder s = new StringBuilder();
         List<Event> listOfEvents = appEvents.getEvents();
         if (listOfEvents.isEmpty()) {
             System.out.println("There are no events!");
         } else {
             for (Event e: listOfEvents) {
-                s += e.toString() + "\n";
+                s.append(e.toString()).append("\n");
             }
         }
-        return s;
+        return s.toString();
+    }
+
+    /**
+     * Requires: None.
+     * Modifies: None.
+     * Effects: Returns the posted events in posting order, as an immutable snapshot that later
+     *          changes do not affect.
+     */
+    public List<Event> getPostedEvents() {
+        return appEvents.getEvents();
+    }
+
+    /**
+     * Requires: u (User object) is a valid User.
+     * Modifies: None.
+     * Effects: Returns the events in the specified user's calendar, as an immutable snapshot.
+     */
+    public List<Event> getEventsInUserCalender(User u) {
+        return u.getEvents().getEvents();
     }
 
     /**
@@ -113,7 +254,7 @@ public class TechEventsHubAppRunner implements Writable {
      * calendar by calling the getStringOfEventsInCalender method of User.
      */
     public String viewEventsInUserCalender(User u) {
-        return u.getStringOfEventsInCalender();
+        return lockedRead(u::getStringOfEventsInCalender);
     }
 
     /**
@@ -122,22 +263,30 @@ public class TechEventsHubAppRunner implements Writable {
      * Effects: Searches for and returns a User object with the specified name. If no user is found, makes the user.
      */
     public User findUser(String name) {
-        User currentUser = appUsers.findUser(name);
+        User currentUser = optimisticRead(() -> appUsers.findUser(name));
         if (currentUser == null) {
-            currentUser = new User(name, "Student");
-            appUsers.addUser(currentUser);
+            currentUser = addUserIfAbsent(new User(name, "Student"));
         }
         return currentUser;
     }
 
+    /**
+     * Requires: None.
+     * Modifies: None.
+     * Effects: Returns the user with the specified name, or null if there is none. Unlike findUser,
+     *          never creates a user.
+     */
+    public User findExistingUser(String name) {
+        return optimisticRead(() -> appUsers.findUser(name));
+    }
+
     /**
      * Requires: name (String) of the event must be unique.
      * Modifies: None.
      * Effects: Searches for and returns an Event object with the specified name. If no event is found, returns null.
      */
     public Event findEvent(String name) {
-        Event eventWanted = appEvents.findEventWithGivenName(name);
-        return eventWanted;
+        return optimisticRead(() -> appEvents.findEventWithGivenName(name));
     }
 
     /**
@@ -146,17 +295,58 @@ public class TechEventsHubAppRunner implements Writable {
      * Effects: Adds the specified Event object to the calendar of the specified User.
      */
     public void addEventToStudent(Event e, User s) {
-        s.addEvent(e);
+        long stamp = beginWrite();
+        try {
+            s.addEvent(e);
+            if (journal != null) {
+                journal.recordAddEventToStudent(e, s);
+            }
+        } finally {
+            endWrite(stamp);
+        }
+    }
+
+    /**
+     * Requires: Event is part of appEvents.
+     * Modifies: e (Event object), this.appEvents, the calendars of this.appUsers.
+     * Effects: Replaces the organizer, time and url of the specified Event, and tells the listeners of
+     *          appEvents and of every calendar holding it that the event changed.
+     */
+    public void updateEvent(Event e, String organizer, String time, String url) {
+        long stamp = beginWrite();
+        try {
+            e.setOrganizer(organizer);
+            e.setTime(time);
+            e.setUrl(url);
+            appEvents.eventChanged(e.getId());
+            for (User u : appUsers.getUsers()) {
+                u.getEvents().eventChanged(e.getId());
+            }
+            if (journal != null) {
+                journal.recordUpdateEvent(e);
+            }
+        } finally {
+            endWrite(stamp);
+        }
     }
 
 
+    /**
+     * Requires: None.
+     * Modifies: None.
+     * Effects: Returns the events whose day is within [min, max], ordered by day.
+     */
+    public List<Event> findEventsInRange(int min, int max) {
+        return optimisticRead(() -> appEvents.findEventsInRange(min, max));
+    }
+
     /**
      * Requires: min and max are valid day values (0 <= min, max <= 365).
      * Modifies: None.
      * Effects: Returns a string representation of all events within the specified day range.
      */
     public String returnFilteredEventsByDayRange(int min, int max) {
-        List<Event> filteredEvents = appEvents.findEventsInRange(min, max);
+        List<Event> filteredEvents = findEventsInRange(min, max);
         StringBuilder filteredEventsString = new StringBuilder();
 
         if (filteredEvents.isEmpty()) {
@@ -177,7 +367,31 @@ public class TechEventsHubAppRunner implements Writable {
      *          Returns true if the event was found and removed, false otherwise.
      */
     public boolean removeEvent(String name) {
-        return appEvents.removeEvent(name);
+        long stamp = beginWrite();
+        try {
+            boolean removed = appEvents.removeEvent(name);
+            if (removed && journal != null) {
+                journal.recordRemoveEvent(name);
+            }
+            return removed;
+        } finally {
+            endWrite(stamp);
+        }
+    }
+
+    /**
+     * Requires: this runner's state matches the snapshot the journal was started from.
+     * Modifies: this.
+     * Effects: Attaches journal so that every later mutation is appended to it.
+     *          Passing null detaches the current journal.
+     */
+    public void setJournal(Journal journal) {
+        long stamp = beginWrite();
+        try {
+            this.journal = journal;
+        } finally {
+            endWrite(stamp);
+        }
     }
     
 
@@ -187,16 +401,65 @@ public class TechEventsHubAppRunner implements Writable {
      * @return a JSON object representing the appEvents and appUsers.
      * 
      * MODIFIES: None.
-     * EFFECTS: Returns a JSONObject for appEvents and appUsers.
+     * EFFECTS: Returns a JSONObject for appEvents and appUsers, and under "calendarOnlyEvents" the
+     *          events that are in users' calendars but no longer in appEvents.
      */
     @Override
     public JSONObject toJson() {
-        JSONObject json = new JSONObject();
-        json.put("appEvents", appEvents.toJson());
-        json.put("appUsers", appUsers.toJson());
-        return json;
+        return lockedRead(() -> {
+            JSONObject json = new JSONObject();
+            json.put("appEvents", appEvents.toJson());
+            JSONArray calendarOnly = new JSONArray();
+            for (Event e : getCalendarOnlyEvents()) {
+                calendarOnly.put(e.toJson());
+            }
+            json.put("calendarOnlyEvents", calendarOnly);
+            json.put("appUsers", appUsers.toJson());
+            return json;
+        });
+    }
+
+    /**
+     * Requires: called inside withReadLock() or lockedRead().
+     * Effects: Returns, once each and in the order first found, the events held in some user's
+     *          calendar that are no longer in appEvents because they were removed after users added
+     *          them. Snapshots store them separately so that those calendars keep them.
+     */
+    public List<Event> getCalendarOnlyEvents() {
+        Map<Long, Event> calendarOnly = new LinkedHashMap<>();
+        for (User u : appUsers.getUsers()) {
+            for (Event e : u.getEvents().getEvents()) {
+                if (appEvents.findEventWithId(e.getId()) == null) {
+                    calendarOnly.putIfAbsent(e.getId(), e);
+                }
+            }
+        }
+        return new ArrayList<>(calendarOnly.values());
+    }
+
+    /**
+     * Streams the TechEventsHubAppRunner object to a JSON writer.
+     * 
+     * MODIFIES: writer.
+     * EFFECTS: Writes the same document as toJson() to writer, event by event and user by user.
+     */
+    @Override
+    public void writeJson(JSONWriter writer) {
+        withReadLock(() -> {
+            writer.object().key("appEvents");
+            appEvents.writeJson(writer);
+            writer.key("calendarOnlyEvents").array();
+            for (Event e : getCalendarOnlyEvents()) {
+                e.writeJson(writer);
+            }
+            writer.endArray();
+            writer.key("appUsers");
+            appUsers.writeJson(writer);
+            writer.endObject();
+        });
     }
 
+    // The collections below are shared with writers; walk them inside withReadLock().
     public TechEvents getAppEvents() {
         return appEvents;
     }
@@ -209,5 +472,14 @@ public class TechEventsHubAppRunner implements Writable {
         return EventLog.getInstance().toString();
     }
 
+    /**
+     * Requires: None.
+     * Modifies: out.
+     * Effects: Streams the event log to out entry by entry, without building it as one String.
+     */
+    public void printLog(Appendable out) throws IOException {
+        EventLog.getInstance().render(out);
+    }
+
     
 }
@@ -1,11 +1,23 @@
 package ui;
 
 import javax.swing.*;
-
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+
+import model.CatalogListener;
+import model.Event;
+import model.EventSearch;
+import model.EventSnapshot;
+import model.TechEvents;
 import model.User;
+import persistence.SnapshotFormat;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * TechEventsAppConsoleRunner is responsible for running the gui-based interface of the TechEventsHub application.
@@ -17,13 +29,21 @@ public class TechEventsHubGUI extends JFrame implements ActionListener {
 
     private static final int WIDTH = 800; // Width of the screen.
     private static final int HEIGHT = 600; // Height of the screen.
+    private static final int EVENT_ROW_HEIGHT = 24; // Height of a row in an events list.
+    private static final int EVENT_ROW_WIDTH = 360; // Width of a row in an events list.
+    private static final int SEARCH_DELAY_MILLIS = 250; // Pause in typing after which a search starts.
 
     private JButton continueButton; // First-Screen Continue Button.
 
 
-    private JTextArea eventsTextArea; // To display posted events
+    private EventListModel postedEventsModel; // Rows of the organizer screen's "Posted Events" list
     private JSplitPane splitPane; // To manage the split view
-    private JTextArea calendarTextArea; // To display the user's calendar events
+    private EventListModel calendarModel; // Rows of the user's calendar, or of its filtered view
+    private EventListModel allEventsModel; // Rows of the student screen's "All Events" list
+    private BackgroundTask<List<Event>> calendarFilter; // Latest filter of the calendar
+    private BackgroundTask<EventSearch> runningSearch; // Search of "All Events" still in progress, if any
+    private EventSearch lastSearch; // Latest completed search of "All Events", reused to narrow the next one
+    private final List<Runnable> subscriptions = new ArrayList<>(); // Undo the catalog listeners of the screen
 
     private JTextField nameField; // To manage the focus of the screen.
 
@@ -44,6 +64,12 @@ public class TechEventsHubGUI extends JFrame implements ActionListener {
         currentUser = null;
     }
 
+    // Constructor for a frame that loads and saves snapshots in the given format
+    public TechEventsHubGUI(SnapshotFormat format) {
+        this();
+        consoleApp.setSnapshotFormat(format);
+    }
+
     /**
      * Requires: None.
      * Modifies: The content pane of the JFrame.
@@ -115,10 +141,7 @@ public class TechEventsHubGUI extends JFrame implements ActionListener {
         JPanel buttonPanel = new JPanel(new FlowLayout());
 
         JButton loadButton = new JButton("Yes, Load");
-        loadButton.addActionListener(e -> {
-            loadPreviousInstance();
-            showPrefaceScreen();
-        });
+        loadButton.addActionListener(e -> loadPreviousInstance());
         buttonPanel.add(loadButton);
 
         JButton skipButton = new JButton("No, Skip");
@@ -140,10 +163,86 @@ public class TechEventsHubGUI extends JFrame implements ActionListener {
     /**
      * Requires: None.
      * Modifies: The consoleApp's state.
-     * Effects: Loads the previous instance of the application.
+     * Effects: Loads the previous instance of the application in the background and shows the
+     *          preface screen once it is loaded. Cancelling the load keeps the current state.
      */
     private void loadPreviousInstance() {
-        consoleApp.loadProgress();
+        runWithProgress("Loading previous instance", new BackgroundTask<>(consoleApp::loadProgress, loaded -> {
+            if (!loaded) {
+                JOptionPane.showMessageDialog(null, "Unable to load the previous instance.",
+                        "Error", JOptionPane.ERROR_MESSAGE);
+            }
+            showPrefaceScreen();
+        }, this::showError));
+    }
+
+    /**
+     * Runs task in the background, showing its progress in a modal dialog with a Cancel button, so
+     * the rest of the frame cannot be used until the task is over. Cancelling stops the task; the
+     * dialog closes once it has finished or stopped.
+     * 
+     * @param title the title of the dialog
+     * @param task the task to run
+     */
+    private void runWithProgress(String title, BackgroundTask<?> task) {
+        JDialog dialog = new JDialog(this, title, true);
+        JProgressBar progressBar = new JProgressBar(0, 100);
+        progressBar.setStringPainted(true);
+        JLabel stageLabel = new JLabel(title + "...");
+        JButton cancelButton = createCancelButton(dialog, task, stageLabel);
+
+        task.setStageListener(stageLabel::setText);
+        task.addPropertyChangeListener(e -> {
+            if ("progress".equals(e.getPropertyName())) {
+                progressBar.setValue((Integer) e.getNewValue());
+            } else if (task.isDone()) {
+                dialog.dispose();
+            }
+        });
+
+        dialog.setLayout(new BorderLayout(10, 10));
+        dialog.add(stageLabel, BorderLayout.NORTH);
+        dialog.add(progressBar, BorderLayout.CENTER);
+        dialog.add(cancelButton, BorderLayout.SOUTH);
+        dialog.pack();
+        dialog.setLocationRelativeTo(this);
+        task.execute();
+        dialog.setVisible(true); // returns once the task is done and the dialog disposed
+    }
+
+    /**
+     * Creates the Cancel button of a progress dialog, which stops task and shows that it is
+     * stopping in stageLabel. Closing the dialog presses the button instead of hiding the dialog.
+     *
+     * @param dialog the progress dialog
+     * @param task the task shown by the dialog
+     * @param stageLabel the label showing the stage of the task
+     */
+    private JButton createCancelButton(JDialog dialog, BackgroundTask<?> task, JLabel stageLabel) {
+        JButton cancelButton = new JButton("Cancel");
+        cancelButton.addActionListener(e -> {
+            task.stop();
+            cancelButton.setEnabled(false);
+            stageLabel.setText("Cancelling...");
+        });
+        dialog.setDefaultCloseOperation(WindowConstants.DO_NOTHING_ON_CLOSE);
+        dialog.addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                cancelButton.doClick();
+            }
+        });
+        return cancelButton;
+    }
+
+    /**
+     * Shows the failure of a background task in an error dialog.
+     * 
+     * @param e what the task threw
+     */
+    private void showError(Exception e) {
+        JOptionPane.showMessageDialog(null, "Something went wrong: " + e.getMessage(),
+                "Error", JOptionPane.ERROR_MESSAGE);
     }
 
     /**
@@ -200,15 +299,18 @@ public class TechEventsHubGUI extends JFrame implements ActionListener {
     }
 
     /**
-     * Creates and returns the button panel for the save and exit screen.
-     * 
-     * @return a JPanel containing buttons for the save and exit screen
+     * Saves progress in the background and exits once it is saved. Cancelling before the save starts
+     * writes nothing; cancelling during the save lets it finish but keeps the application open.
      */
     private void saveAndExit() {
-        consoleApp.saveProgress();
-        JOptionPane.showMessageDialog(null, "Progress saved! Goodbye!", "Exit", JOptionPane.INFORMATION_MESSAGE);
-        System.exit(0);
-        System.out.println("Exited");
+        runWithProgress("Saving progress", new BackgroundTask<>(consoleApp::saveProgress, saved -> {
+            if (!saved) {
+                JOptionPane.showMessageDialog(null, "Unable to save progress!", "Error", JOptionPane.ERROR_MESSAGE);
+                return;
+            }
+            JOptionPane.showMessageDialog(null, "Progress saved! Goodbye!", "Exit", JOptionPane.INFORMATION_MESSAGE);
+            System.exit(0);
+        }, this::showError));
     }
 
     /**
@@ -340,7 +442,6 @@ public class TechEventsHubGUI extends JFrame implements ActionListener {
                 consoleApp.postAnEvent(eventName, organizer, eventDay, time, url);
                 JOptionPane.showMessageDialog(null, "Event posted successfully!", 
                         "Success", JOptionPane.INFORMATION_MESSAGE);
-                refreshEventsList();
             } catch (NumberFormatException ex) {
                 JOptionPane.showMessageDialog(null, "Event day must be a valid number!", 
                         "Error", JOptionPane.ERROR_MESSAGE);
@@ -365,7 +466,6 @@ public class TechEventsHubGUI extends JFrame implements ActionListener {
                 if (removed) {
                     JOptionPane.showMessageDialog(null, "Event removed successfully!", 
                             "Success", JOptionPane.INFORMATION_MESSAGE);
-                    refreshEventsList();
                 } else {
                     JOptionPane.showMessageDialog(null, "Event not found!", "Error", JOptionPane.ERROR_MESSAGE);
                 }
@@ -400,22 +500,29 @@ public class TechEventsHubGUI extends JFrame implements ActionListener {
         postedEventsLabel.setFont(new Font("Arial", Font.BOLD, 18));
         postedEventsPanel.add(postedEventsLabel, BorderLayout.NORTH);
 
-        eventsTextArea = new JTextArea();
-        eventsTextArea.setEditable(false);
-        JScrollPane scrollPane = new JScrollPane(eventsTextArea);
+        postedEventsModel = new EventListModel();
+        follow(consoleApp.getPostedEventCatalog(), postedEventsModel);
+        JScrollPane scrollPane = new JScrollPane(createEventsList(postedEventsModel));
         postedEventsPanel.add(scrollPane, BorderLayout.CENTER);
 
-        refreshEventsList();
-
         return postedEventsPanel;
     }
 
     /**
-     * Refreshes the list of posted events displayed in the UI.
+     * Shows the events of catalog in model and keeps them up to date: every change to catalog is
+     * handed to the EDT and applied to model as a one-row update, so the lists are never re-rendered
+     * as a whole. The listener is removed when the screen is cleared.
+     * 
+     * @param catalog the events to show
+     * @param model the list model to show them in
      */
-    private void refreshEventsList() {
-        String events = consoleApp.getPostedEvents();
-        eventsTextArea.setText(events);
+    private void follow(TechEvents catalog, EventListModel model) {
+        CatalogListener listener = change -> SwingUtilities.invokeLater(() -> model.apply(change));
+        // Listen before taking the snapshot, so no change falls between the two; the model skips
+        // changes its snapshot already reflects
+        catalog.addListener(listener);
+        model.follow(catalog.snapshot());
+        subscriptions.add(() -> catalog.removeListener(listener));
     }
 
     /**
@@ -603,91 +710,166 @@ public class TechEventsHubGUI extends JFrame implements ActionListener {
 
     /**
      * Creates and returns the panel displaying all available events.
-     * Includes a scrollable list of events with buttons to add them to the user's calendar.
+     * Includes a scrollable list of events and a button to add the selected one to the user's calendar.
      * 
      * @return a JPanel containing all events
      */
     private JPanel createAllEventsPanel() {
         JPanel allEventsPanel = new JPanel(new BorderLayout());
+        JPanel headerPanel = new JPanel(new BorderLayout());
         JLabel allEventsLabel = new JLabel("All Events", SwingConstants.CENTER);
         allEventsLabel.setFont(new Font("Arial", Font.BOLD, 18));
-        allEventsPanel.add(allEventsLabel, BorderLayout.NORTH);
+        headerPanel.add(allEventsLabel, BorderLayout.NORTH);
+        allEventsPanel.add(headerPanel, BorderLayout.NORTH);
 
-        JPanel eventsListPanel = createEventsListPanel();
-        JScrollPane scrollPane = new JScrollPane(eventsListPanel);
-        allEventsPanel.add(scrollPane, BorderLayout.CENTER);
+        allEventsModel = new EventListModel();
+        follow(consoleApp.getPostedEventCatalog(), allEventsModel);
+        JList<Event> eventsList = createEventsList(allEventsModel);
+        allEventsPanel.add(new JScrollPane(eventsList), BorderLayout.CENTER);
+        headerPanel.add(createSearchPanel(eventsList), BorderLayout.SOUTH);
+
+        JButton addButton = new JButton("Add to Calendar");
+        addButton.setEnabled(false);
+        addButton.addActionListener(e -> addEventToUserCalendar(eventsList.getSelectedValue()));
+        eventsList.addListSelectionListener(e -> addButton.setEnabled(eventsList.getSelectedValue() != null));
+        allEventsPanel.add(addButton, BorderLayout.SOUTH);
 
         return allEventsPanel;
     }
 
     /**
-     * Creates a vertical list panel containing individual event panels.
-     * Retrieves all events from the backend and adds them as rows.
+     * Creates the search box above the "All Events" list. The events are searched by name and
+     * organizer once typing pauses for SEARCH_DELAY_MILLIS, so a burst of keystrokes runs a single
+     * search; clearing the box shows every event again.
      * 
-     * @return a JPanel with all event entries
-     */
-    private JPanel createEventsListPanel() {
-        JPanel eventsListPanel = new JPanel();
-        eventsListPanel.setLayout(new BoxLayout(eventsListPanel, BoxLayout.Y_AXIS));
+     * @param eventsList the list that shows the matches
+     * @return a JPanel holding the search box
+     */
+    private JPanel createSearchPanel(JList<Event> eventsList) {
+        JPanel searchPanel = new JPanel(new BorderLayout(5, 0));
+        searchPanel.add(new JLabel("Search by name or organizer:"), BorderLayout.WEST);
+        JTextField searchField = new JTextField();
+        searchPanel.add(searchField, BorderLayout.CENTER);
+
+        Timer debounce = new Timer(SEARCH_DELAY_MILLIS, e -> {
+            eventsList.clearSelection();
+            searchEvents(searchField.getText());
+        });
+        debounce.setRepeats(false);
+        searchField.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                debounce.restart();
+            }
 
-        String allEvents = consoleApp.getPostedEvents();
-        String[] events = allEvents.split("\n");
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                debounce.restart();
+            }
 
-        for (String event : events) {
-            JPanel eventPanel = createEventPanel(event);
-            eventsListPanel.add(eventPanel);
-        }
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+                debounce.restart();
+            }
+        });
+        subscriptions.add(debounce::stop);
+        lastSearch = null;
+        return searchPanel;
+    }
 
-        return eventsListPanel;
+    /**
+     * Searches the posted events for query in the background and shows the matches in the
+     * "All Events" list, which stops following the catalog's changes until the search is cleared.
+     * A search still running is cancelled, since its result would be stale; the new one narrows the
+     * latest completed result when it can. A blank query shows the whole catalog again.
+     * 
+     * @param query the text typed in the search box
+     */
+    private void searchEvents(String query) {
+        cancelSearch();
+        TechEvents catalog = consoleApp.getPostedEventCatalog();
+        if (query.isBlank()) {
+            lastSearch = null;
+            allEventsModel.follow(catalog.snapshot());
+            return;
+        }
+        EventSnapshot snapshot = catalog.snapshot();
+        EventSearch previous = lastSearch;
+        runningSearch = new BackgroundTask<>(
+                progress -> EventSearch.run(snapshot, query, previous, progress::isCancelled),
+                result -> {
+                    lastSearch = result;
+                    allEventsModel.setEvents(result.getMatches());
+                }, this::showError);
+        runningSearch.execute();
+    }
+
+    // Effects: cancels the search still running, if any, so its result is never shown.
+    private void cancelSearch() {
+        if (runningSearch != null) {
+            runningSearch.cancel(false);
+            runningSearch = null;
+        }
     }
 
     /**
-     * Creates a panel for a single event with its name and an "Add to Calendar" button.
+     * Creates a list of the events in model. The model is backed by a catalog snapshot itself and
+     * every row has the same size, so only the visible rows are ever rendered, each by the list's
+     * single shared renderer; opening it costs the same whatever the number of events.
      * 
-     * @param event the event string to display
-     * @return a JPanel representing a single event entry
+     * @param model the events to list
+     * @return a JList over the events of model
      */
-    private JPanel createEventPanel(String event) {
-        JPanel eventPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
-        JLabel eventLabel = new JLabel(event);
-        JButton addButton = new JButton("Add to Calendar");
-        addButton.addActionListener(e -> handleAddEvent(event));
-        eventPanel.add(eventLabel);
-        eventPanel.add(addButton);
-
-        return eventPanel;
+    private JList<Event> createEventsList(EventListModel model) {
+        JList<Event> eventsList = new JList<>(model);
+        eventsList.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        eventsList.setFixedCellHeight(EVENT_ROW_HEIGHT);
+        eventsList.setFixedCellWidth(EVENT_ROW_WIDTH);
+        return eventsList;
     }
 
     /**
-     * Handles the logic when the "Add to Calendar" button is clicked for an event.
-     * Extracts the event name and adds it to the user's calendar.
+     * Adds the given event to the current user's calendar via the backend; the calendar list
+     * picks up the new row from the calendar's change notification.
      * 
-     * @param event the event string to add
+     * @param event the event to add, or null if none is selected
      */
-    private void handleAddEvent(String event) {
-        String eventName = event.split(" : ")[0].trim();
-        eventName = eventName.replace("[", "").replace("]", "").trim();
-        addEventToUserCalendar(eventName);
+    private void addEventToUserCalendar(Event event) {
+        if (event == null) {
+            return;
+        }
+        consoleApp.addEventToStudentCalender(event, currentUser);
     }
 
     /**
-     * Adds the given event name to the current user's calendar via the backend,
-     * and refreshes the calendar display afterward.
-     * 
-     * @param eventName the name of the event to add
+     * Shows the current user's calendar in calendarModel and keeps it up to date, like follow()
+     * does for a catalog. Called once per calendar panel; the listener is removed when the screen
+     * is cleared.
      */
-    private void addEventToUserCalendar(String eventName) {
-        String cleanedEventName = eventName.replace("[", "").replace("]", "").trim();
-        consoleApp.addEventToStudentCalender(cleanedEventName, currentUser);
-        refreshUserCalendar();
+    private void followUserCalendar() {
+        User user = currentUser;
+        EventListModel model = calendarModel;
+        CatalogListener listener = change -> SwingUtilities.invokeLater(() -> model.apply(change));
+        user.addCalendarListener(listener);
+        model.follow(user.getEvents().snapshot());
+        subscriptions.add(() -> user.removeCalendarListener(listener));
     }
 
     /**
-     * Updates the calendar text area with the current user's saved events.
+     * Shows the current user's whole calendar again, dropping any filter; the calendar's listener
+     * then brings the list up to date again.
      */
-    private void refreshUserCalendar() {
-        String calendarEvents = consoleApp.returnEventsInMyCalender(currentUser);
-        calendarTextArea.setText(calendarEvents);
+    private void showUserCalendar() {
+        cancelCalendarFilter();
+        calendarModel.follow(currentUser.getEvents().snapshot());
+    }
+
+    // Effects: cancels the filter still running, if any, so its result is never shown.
+    private void cancelCalendarFilter() {
+        if (calendarFilter != null) {
+            calendarFilter.cancel(false);
+            calendarFilter = null;
+        }
     }
 
     /**
@@ -702,16 +884,15 @@ public class TechEventsHubGUI extends JFrame implements ActionListener {
         userCalendarLabel.setFont(new Font("Arial", Font.BOLD, 18));
         userCalendarPanel.add(userCalendarLabel, BorderLayout.NORTH);
 
-        calendarTextArea = new JTextArea();
-        calendarTextArea.setEditable(false);
-        JScrollPane scrollPane = new JScrollPane(calendarTextArea);
+        calendarModel = new EventListModel();
+        JScrollPane scrollPane = new JScrollPane(createEventsList(calendarModel));
         userCalendarPanel.add(scrollPane, BorderLayout.CENTER);
 
         JPanel filterPanel = new JPanel(new FlowLayout(FlowLayout.CENTER));
         addFilterByDayRangeButton(filterPanel);
         userCalendarPanel.add(filterPanel, BorderLayout.NORTH);
 
-        refreshUserCalendar();
+        followUserCalendar();
 
         return userCalendarPanel;
     }
@@ -742,8 +923,9 @@ public class TechEventsHubGUI extends JFrame implements ActionListener {
     }
 
     /**
-     * Filters calendar events based on the user-entered day range
-     * and updates the calendar display with the filtered results.
+     * Filters calendar events based on the user-entered day range in the background
+     * and updates the calendar display with the filtered results. A newer filter supersedes
+     * this one, which is then cancelled so only the latest result is shown.
      * 
      * @param minField the text field for the minimum day
      * @param maxField the text field for the maximum day
@@ -752,13 +934,29 @@ public class TechEventsHubGUI extends JFrame implements ActionListener {
         try {
             int min = Integer.parseInt(minField.getText());
             int max = Integer.parseInt(maxField.getText());
-            String filteredEvents = consoleApp.returnFilteredEventsByDayRange(min, max);
-            calendarTextArea.setText(filteredEvents);
+            cancelCalendarFilter();
+            calendarFilter = new BackgroundTask<>(progress -> consoleApp.filterEventsByDayRange(min, max),
+                    this::showFilteredCalendar, this::showError);
+            calendarFilter.execute();
         } catch (NumberFormatException ex) {
             JOptionPane.showMessageDialog(null, "Please enter valid day numbers!", "Error", JOptionPane.ERROR_MESSAGE);
         }
     }
 
+    /**
+     * Shows the result of a filter in the calendar list, which stops following the calendar's
+     * changes until the filter is cleared.
+     * 
+     * @param events the events that passed the filter
+     */
+    private void showFilteredCalendar(List<Event> events) {
+        calendarModel.setEvents(events);
+        if (events.isEmpty()) {
+            JOptionPane.showMessageDialog(null, "No events found in the specified range.",
+                    "Filter", JOptionPane.INFORMATION_MESSAGE);
+        }
+    }
+
     /**
      * Clears the filter fields and refreshes the calendar to show all events.
      * 
@@ -768,14 +966,21 @@ public class TechEventsHubGUI extends JFrame implements ActionListener {
     private void handleClearFilter(JTextField minField, JTextField maxField) {
         minField.setText("");
         maxField.setText("");
-        refreshUserCalendar();
+        showUserCalendar();
     }
 
     /**
-     * Clears all components from the content pane.
+     * Clears all components from the content pane, and stops the catalog listeners of the lists
+     * that were on it.
      */
     private void clearContentPane() {
         getContentPane().removeAll();
+        for (Runnable unsubscribe : subscriptions) {
+            unsubscribe.run();
+        }
+        subscriptions.clear();
+        cancelCalendarFilter();
+        cancelSearch();
     }
 
     /**
@@ -2,6 +2,7 @@ package model;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -139,4 +140,15 @@ public class TestEventClass {
 
 
 
+
+    @Test
+    void testIdsAreUniqueAndStable() {
+        assertNotEquals(event1.getId(), event2.getId());
+        assertNotEquals(event3.getId(), event4.getId());
+
+        Event restored = new Event(event4.getId(), "Conference", "Biz Org", 10, "10:00 AM", "http://conference.com");
+        assertEquals(event4.getId(), restored.getId());
+        assertTrue(new Event("Later", 1).getId() > event4.getId());
+        assertEquals(event4.getId(), event4.toJson().getLong("id"));
+    }
 }
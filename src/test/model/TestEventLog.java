@@ -3,7 +3,10 @@ package model;
 import static org.junit.jupiter.api.Assertions.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import java.io.IOException;
+import java.util.Date;
 import java.util.Iterator;
+import java.util.List;
 
 class TestEventLog {
     private EventLog eventLog;
@@ -65,4 +68,129 @@ class TestEventLog {
         assertTrue(indexCleared < indexEvent1, "Clear event should come before event1.");
         assertTrue(indexEvent1 < indexEvent2, "Event1 should come before event2.");
     }
+
+    @Test
+    void testOverwritesOldestWhenFull() {
+        for (int i = 0; i < EventLog.CAPACITY + 10; i++) {
+            eventLog.logEvent(new EventTracker("Entry " + i));
+        }
+
+        Iterator<EventTracker> iterator = eventLog.iterator();
+        // the clear entry and the 10 oldest entries have been overwritten
+        assertEquals("Entry 10", iterator.next().getDescription());
+        int count = 1;
+        EventTracker last = null;
+        while (iterator.hasNext()) {
+            last = iterator.next();
+            count++;
+        }
+        assertEquals(EventLog.CAPACITY, count);
+        assertEquals("Entry " + (EventLog.CAPACITY + 9), last.getDescription());
+    }
+
+    @Test
+    void testConcurrentProducersLoseNothing() throws InterruptedException {
+        Thread[] producers = new Thread[4];
+        for (int t = 0; t < producers.length; t++) {
+            int id = t;
+            producers[t] = new Thread(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    eventLog.logEvent(new EventTracker("Producer " + id + " entry " + i));
+                }
+            });
+            producers[t].start();
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+
+        int count = 0;
+        for (EventTracker e : eventLog) {
+            count++;
+        }
+        assertEquals(4001, count); // includes "Event log cleared."
+    }
+
+    @Test
+    void testIteratorIsSnapshot() {
+        eventLog.logEvent(event1);
+        Iterator<EventTracker> iterator = eventLog.iterator();
+        eventLog.logEvent(event2);
+
+        assertEquals("Event log cleared.", iterator.next().getDescription());
+        assertEquals(event1, iterator.next());
+        assertFalse(iterator.hasNext());
+    }
+
+    @Test
+    void testRenderWithLimitAndWindow() throws IOException {
+        eventLog.logEvent(event1);
+        eventLog.logEvent(event2);
+
+        StringBuilder all = new StringBuilder();
+        eventLog.render(all);
+        assertEquals(eventLog.toString(), all.toString());
+
+        StringBuilder lastOne = new StringBuilder();
+        eventLog.render(lastOne, null, null, 1);
+        assertEquals(event2.toString() + "\n", lastOne.toString());
+
+        StringBuilder future = new StringBuilder();
+        eventLog.render(future, new Date(System.currentTimeMillis() + 60000), null, 10);
+        assertEquals("", future.toString());
+
+        StringBuilder past = new StringBuilder();
+        eventLog.render(past, null, new Date(System.currentTimeMillis() + 60000), 10);
+        assertEquals(all.toString(), past.toString());
+    }
+
+    @Test
+    void testFindByUserEventAndAction() {
+        eventLog.logEvent(new EventTracker(EventTracker.Action.USER_ADDED, "Query Alice", null, 0));
+        eventLog.logEvent(new EventTracker(EventTracker.Action.EVENT_ADDED, null, "Query Talk", 5));
+        eventLog.logEvent(new EventTracker(EventTracker.Action.EVENT_ADDED_TO_USER, "Query Alice", "Query Talk", 5));
+        eventLog.logEvent(new EventTracker(EventTracker.Action.EVENT_REMOVED, null, "Query Talk", 5));
+
+        List<EventTracker> alice = eventLog.find("Query Alice", null, null, null, null);
+        assertEquals(2, alice.size());
+        assertEquals(EventTracker.Action.USER_ADDED, alice.get(0).getAction());
+        assertEquals(EventTracker.Action.EVENT_ADDED_TO_USER, alice.get(1).getAction());
+
+        List<EventTracker> removed = eventLog.find(null, "Query Talk", EventTracker.Action.EVENT_REMOVED, null, null);
+        assertEquals(1, removed.size());
+        assertEquals("Removed event from calendar: Query Talk from Day 5", removed.get(0).getDescription());
+
+        assertEquals(3, eventLog.find(null, "Query Talk", null, null, null).size());
+        assertTrue(eventLog.find("Query Bob", null, null, null, null).isEmpty());
+        assertTrue(eventLog.find("Query Alice", "Query Talk", EventTracker.Action.EVENT_REMOVED, null, null).isEmpty());
+    }
+
+    @Test
+    void testFindByTime() {
+        eventLog.logEvent(new EventTracker(EventTracker.Action.USER_ADDED, "Timed user", null, 0));
+        Date later = new Date(System.currentTimeMillis() + 60000);
+        Date earlier = new Date(System.currentTimeMillis() - 60000);
+
+        assertEquals(1, eventLog.find("Timed user", null, null, earlier, later).size());
+        assertTrue(eventLog.find("Timed user", null, null, later, null).isEmpty());
+        assertTrue(eventLog.find("Timed user", null, null, null, earlier).isEmpty());
+        assertTrue(eventLog.find(null, null, null, later, earlier).isEmpty());
+        assertEquals(2, eventLog.find(null, null, null, earlier, later).size()); // includes the clear() entry
+    }
+
+    @Test
+    void testFindSkipsClearedAndOverwrittenEntries() {
+        eventLog.logEvent(new EventTracker(EventTracker.Action.USER_ADDED, "Cleared user", null, 0));
+        assertEquals(1, eventLog.find("Cleared user", null, null, null, null).size());
+        eventLog.clear();
+        assertTrue(eventLog.find("Cleared user", null, null, null, null).isEmpty());
+
+        eventLog.logEvent(new EventTracker(EventTracker.Action.USER_ADDED, "Overwritten user", null, 0));
+        assertEquals(1, eventLog.find("Overwritten user", null, null, null, null).size());
+        for (int i = 0; i < EventLog.CAPACITY; i++) {
+            eventLog.logEvent(new EventTracker(EventTracker.Action.EVENT_ADDED, null, "Filler", i));
+        }
+        assertTrue(eventLog.find("Overwritten user", null, null, null, null).isEmpty());
+        assertEquals(EventLog.CAPACITY, eventLog.find(null, "Filler", null, null, null).size());
+    }
 }
@@ -0,0 +1,96 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class TestEventSearch {
+
+    TechEvents events;
+    Event hackathon;
+    Event workshop;
+    Event seminar;
+
+    @BeforeEach
+    void runBefore() {
+        events = new TechEvents();
+        hackathon = new Event("Hackathon", "UBC Launch Pad", 3);
+        workshop = new Event("AI Workshop", "Data Science Club", 5);
+        seminar = new Event("Security Seminar", "UBC CTF", 7);
+        events.addEvent(hackathon);
+        events.addEvent(workshop);
+        events.addEvent(seminar);
+    }
+
+    private EventSearch search(String query, EventSearch previous) {
+        return EventSearch.run(events.snapshot(), query, previous, () -> false);
+    }
+
+    @Test
+    void testMatchesNameOrOrganizerIgnoringCase() {
+        assertEquals(List.of(hackathon, seminar), search("ubc", null).getMatches());
+        assertEquals(List.of(workshop), search("  WORK ", null).getMatches());
+        assertEquals(List.of(workshop, seminar), search("s", null).getMatches().subList(0, 2));
+        assertEquals(List.of(), search("career", null).getMatches());
+        assertEquals("WORK", search("  WORK ", null).getQuery());
+    }
+
+    @Test
+    void testBlankQueryMatchesEverything() {
+        EventSearch all = search(" ", null);
+        assertSame(events.snapshot(), all.getMatches());
+        assertEquals(events.snapshot().getVersion(), all.getVersion());
+    }
+
+    @Test
+    void testExtendedQueryNarrowsThePreviousMatches() {
+        EventSearch ubc = search("UBC", null);
+        EventSearch narrowed = search("UBC C", ubc);
+        assertEquals(List.of(seminar), narrowed.getMatches());
+
+        EventSearch changed = search("Hack", narrowed);
+        assertEquals(List.of(hackathon), changed.getMatches());
+    }
+
+    @Test
+    void testNarrowingScansOnlyThePreviousMatches() {
+        for (int i = 0; i < 10000; i++) {
+            events.addEvent(new Event("Event " + i, i % 366));
+        }
+        EventSearch previous = search("Event 1", null);
+        AtomicInteger checks = new AtomicInteger();
+        EventSearch narrowed = EventSearch.run(events.snapshot(), "event 12", previous, () -> {
+            checks.incrementAndGet();
+            return false;
+        });
+        // the previous 1111 matches are too few to reach a cancellation check; the catalog is not
+        assertEquals(0, checks.get());
+        assertEquals(search("event 12", null).getMatches(), narrowed.getMatches());
+        assertEquals(111, narrowed.getMatches().size());
+    }
+
+    @Test
+    void testPreviousResultIsNotReusedAfterTheCatalogChanges() {
+        EventSearch ubc = search("UBC", null);
+        Event meetup = new Event("UBC Meetup", 9);
+        events.addEvent(meetup);
+        assertEquals(List.of(hackathon, seminar, meetup), search("UBC ", ubc).getMatches());
+    }
+
+    @Test
+    void testCancelledSearchReturnsNull() {
+        for (int i = 0; i < 10000; i++) {
+            events.addEvent(new Event("Event " + i, i % 366));
+        }
+        AtomicInteger checks = new AtomicInteger();
+        assertNull(EventSearch.run(events.snapshot(), "Event", null, () -> checks.incrementAndGet() > 1));
+        assertTrue(checks.get() >= 2);
+    }
+}
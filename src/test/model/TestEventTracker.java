@@ -3,7 +3,7 @@ package model;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 //import static org.junit.jupiter.api.Assertions.assertFalse;
-//import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 //import java.util.Date;
 
@@ -87,5 +87,29 @@ class TestEventTracker {
         assertEquals(expected, event1.toString(), "toString should return the correct format.");
     }
 
+    @Test
+    void testStructuredEntryDescription() {
+        EventTracker added = new EventTracker(EventTracker.Action.EVENT_ADDED_TO_USER, "Alice", "AI Workshop", 10);
+        assertEquals(EventTracker.Action.EVENT_ADDED_TO_USER, added.getAction());
+        assertEquals("Alice", added.getUserName());
+        assertEquals("AI Workshop", added.getEventName());
+        assertEquals(10, added.getDay());
+        assertEquals("Added event to user's calendar: User - Alice | Event - AI Workshop", added.getDescription());
+        assertEquals("Added event to general calendar: AI Workshop on Day 10",
+                new EventTracker(EventTracker.Action.EVENT_ADDED, null, "AI Workshop", 10).getDescription());
+        assertEquals("Removed event from calendar: AI Workshop from Day 10",
+                new EventTracker(EventTracker.Action.EVENT_REMOVED, null, "AI Workshop", 10).getDescription());
+        assertEquals("Added user: Alice on the list of user!",
+                new EventTracker(EventTracker.Action.USER_ADDED, "Alice", null, 0).getDescription());
+        assertEquals(EventTracker.Action.MESSAGE, event1.getAction());
+        assertEquals(null, event1.getEventName());
+    }
 
+    @Test
+    void testTimeStamps() {
+        assertEquals(event1.getEpochNanos() / 1_000_000, event1.getDate().getTime());
+        assertTrue(eventDifferentDate.getEpochNanos() > event1.getEpochNanos());
+        long now = System.currentTimeMillis();
+        assertTrue(Math.abs(new EventTracker("Now").getDate().getTime() - now) < 1000);
+    }
 }
@@ -2,6 +2,8 @@ package model;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.ArrayList;
@@ -126,8 +128,169 @@ public class TestTechEventsClass {
         assertFalse(events.removeEvent("Non-Existent Event"));
         assertEquals(1, events.getTotalNumberOfEvents());
     }
-}
 
+    @Test
+    void testNameIndexStaysInSyncWithList() {
+        events.addEvent(event1);
+        events.addEvent(event2);
+        assertTrue(events.removeEvent("Hackathon"));
+        assertFalse(events.getEvents().contains(event1));
+
+        // re-adding an event with a removed name makes it findable again
+        Event replacement = new Event("Hackathon", 8);
+        events.addEvent(replacement);
+        assertEquals(replacement, events.findEventWithGivenName("Hackathon"));
+        assertEquals(event2, events.findEventWithGivenName("Workshop"));
+        assertEquals(2, events.getTotalNumberOfEvents());
+    }
+
+    @Test
+    void testFindEventsInRangeIsOrderedByDay() {
+        events.addEvent(event4);
+        events.addEvent(event2);
+        events.addEvent(event1);
+        events.addEvent(event3);
+
+        List<Event> inRange = events.findEventsInRange(3, 7);
+        assertEquals(3, inRange.size());
+        assertEquals(event1, inRange.get(0));
+        assertEquals(event2, inRange.get(1));
+        assertEquals(event3, inRange.get(2));
+
+        events.removeEvent("Workshop");
+        inRange = events.findEventsInRange(3, 7);
+        assertEquals(2, inRange.size());
+        assertFalse(inRange.contains(event2));
+    }
+
+    @Test
+    void testFindEventsInRangeOutsideYear() {
+        Event nextYear = new Event("Reunion", 400);
+        events.addEvent(nextYear);
+        events.addEvent(event4);
+
+        assertFalse(events.findEventsInRange(0, 365).contains(nextYear));
+        List<Event> inRange = events.findEventsInRange(5, 500);
+        assertEquals(2, inRange.size());
+        assertEquals(event4, inRange.get(0));
+        assertEquals(nextYear, inRange.get(1));
+    }
+
+    @Test
+    void testSnapshotIsUnaffectedByLaterChanges() {
+        events.addEvent(event1);
+        events.addEvent(event2);
+        EventSnapshot before = events.snapshot();
+        events.addEvent(event3);
+        events.removeEvent("Hackathon");
+
+        assertEquals(2, before.size());
+        assertEquals(event1, before.get(0));
+        assertEquals(event2, before.get(1));
+        assertEquals(List.of(event2, event3), events.getEvents());
+        assertTrue(events.snapshot().getVersion() > before.getVersion());
+    }
+
+    @Test
+    void testSnapshotMatchesListAcrossRemovalsAndCompaction() {
+        List<Event> expected = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            Event e = new Event("Snapshot event " + i, i % 366);
+            events.addEvent(e);
+            expected.add(e);
+        }
+        for (int i = 0; i < 3000; i += 3) {
+            events.removeEvent("Snapshot event " + i);
+            String name = "Snapshot event " + i;
+            expected.removeIf(e -> e.getName().equals(name));
+        }
+        assertEquals(expected.size(), events.getTotalNumberOfEvents());
+        assertEquals(expected, events.getEvents());
+        for (int i = 0; i < expected.size(); i += 97) {
+            assertEquals(expected.get(i), events.getEventAtIndex(i));
+        }
+
+        for (int i = 1; i < 3000; i++) {
+            events.removeEvent("Snapshot event " + i);
+        }
+        assertEquals(0, events.getTotalNumberOfEvents());
+        assertFalse(events.getEvents().iterator().hasNext());
+        events.addEvent(event1);
+        assertEquals(List.of(event1), events.getEvents());
+        assertEquals(event1, events.findEventWithId(event1.getId()));
+    }
+
+    @Test
+    void testListenersAreToldAboutEachChange() {
+        List<CatalogChange> changes = new ArrayList<>();
+        events.addListener(changes::add);
+        events.addEvent(event1);
+        events.addEvent(event2);
+        events.addEvent(event3);
+        events.removeEvent("Workshop");
+        event3.setOrganizer("UBC");
+        assertTrue(events.eventChanged(event3.getId()));
+        assertFalse(events.eventChanged(event4.getId()));
+
+        assertEquals(5, changes.size());
+        assertEquals(CatalogChange.Kind.ADDED, changes.get(2).getKind());
+        assertEquals(event3.getId(), changes.get(2).getEventId());
+        assertEquals(2, changes.get(2).getIndex());
+        assertEquals(CatalogChange.Kind.REMOVED, changes.get(3).getKind());
+        assertEquals(event2, changes.get(3).getEvent());
+        assertEquals(1, changes.get(3).getIndex());
+        assertEquals(List.of(event1, event3), changes.get(3).getSnapshot());
+        assertEquals(CatalogChange.Kind.CHANGED, changes.get(4).getKind());
+        assertEquals(1, changes.get(4).getIndex());
+        assertTrue(changes.get(4).getVersion() > changes.get(3).getVersion());
+    }
+
+    @Test
+    void testRemovalIndexesMatchTheListAcrossCompaction() {
+        List<Event> mirror = new ArrayList<>();
+        events.addListener(change -> {
+            if (change.getKind() == CatalogChange.Kind.ADDED) {
+                mirror.add(change.getIndex(), change.getEvent());
+            } else if (change.getKind() == CatalogChange.Kind.REMOVED) {
+                assertEquals(change.getEvent(), mirror.remove(change.getIndex()));
+            }
+        });
+        for (int i = 0; i < 2000; i++) {
+            events.addEvent(new Event("Mirrored event " + i, i % 366));
+        }
+        for (int i = 0; i < 2000; i += 2) {
+            events.removeEvent("Mirrored event " + (i * 7 % 2000));
+        }
+        assertEquals(events.getEvents(), mirror);
+    }
 
+    @Test
+    void testRemovedListenerIsNotTold() {
+        List<CatalogChange> changes = new ArrayList<>();
+        CatalogListener listener = changes::add;
+        events.addListener(listener);
+        events.addEvent(event1);
+        events.removeListener(listener);
+        events.addEvent(event2);
+        assertEquals(1, changes.size());
+    }
 
+    @Test
+    void testDuplicateNamesAreFoundAndRemovedInTurn() {
+        Event first = new Event("Hackathon", 3);
+        Event second = new Event("Hackathon", 9);
+        events.addEvent(first);
+        events.addEvent(event2);
+        events.addEvent(second);
 
+        assertSame(first, events.findEventWithGivenName("Hackathon"));
+        assertTrue(events.removeEvent("Hackathon"));
+        assertSame(second, events.findEventWithGivenName("Hackathon"));
+        assertEquals(2, events.getTotalNumberOfEvents());
+        assertTrue(events.removeEvent("Hackathon"));
+        assertNull(events.findEventWithGivenName("Hackathon"));
+        assertFalse(events.removeEvent("Hackathon"));
+        assertEquals(1, events.getTotalNumberOfEvents());
+        assertEquals(0, events.findEventsInRange(0, 10).indexOf(event2));
+    }
+}
@@ -3,6 +3,9 @@ package model;
 import static org.junit.Assert.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -76,5 +79,18 @@ public class TestUserClass {
         assertTrue(!user1.isRightUser("WrongName"));
     }
 
+    @Test
+    void testCalendarListener() {
+        List<CatalogChange> changes = new ArrayList<>();
+        CatalogListener listener = changes::add;
+        user1.addCalendarListener(listener);
+        user1.addEvent(event);
+        user1.removeCalendarListener(listener);
+        user1.addEvent(new Event("Event2", 13));
 
+        assertEquals(1, changes.size());
+        assertEquals(CatalogChange.Kind.ADDED, changes.get(0).getKind());
+        assertEquals(event.getId(), changes.get(0).getEventId());
+        assertEquals(0, changes.get(0).getIndex());
+    }
 }
@@ -95,4 +95,21 @@ public class TestUsersClass {
     }
 
 
-}
\ No newline at end of file
+    // Renaming a user through User.setNewName should re-key the name index.
+    @Test
+    void testFindUserAfterRename() {
+        usersInstance.addUser(user1);
+        user1.setNewName("DM");
+
+        assertEquals(user1, usersInstance.findUser("DM"));
+        assertEquals(null, usersInstance.findUser("Dhweya"));
+
+        // the old name is free again
+        User user2 = new User("Dhweya", "Student");
+        usersInstance.addUser(user2);
+        assertEquals(2, usersInstance.getNumberOfUsers());
+        assertEquals(user2, usersInstance.findUser("Dhweya"));
+        assertEquals(user1, usersInstance.getUsers().get(0));
+    }
+
+}
@@ -0,0 +1,144 @@
+package persistence;
+
+import model.Event;
+import model.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ui.TechEventsHubAppRunner;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the BinaryWriter and BinaryReader classes. Data is written to a binary
+ * snapshot and read back.
+ */
+public class BinaryWriterTest extends JsonTest {
+
+    private static final String TEST_FILE = "./data/testWriter.bin";
+    private BinaryWriter writer;
+    private TechEventsHubAppRunner appRunner;
+
+    @BeforeEach
+    public void setUp() {
+        writer = new BinaryWriter(TEST_FILE);
+        appRunner = new TechEventsHubAppRunner();
+        appRunner.addEvent("Tech Talk 2025", "UBC Tech Club", 5, "14:00", "http://techtalk2025.com");
+        appRunner.addEvent("AI Workshop", "UBC Tech Club", 10, "14:00", "http://aiworkshop.com");
+        appRunner.addUser("Alice", "Student");
+        appRunner.addUser("Bob", "Student");
+        appRunner.addEventToStudent(appRunner.findEvent("AI Workshop"), appRunner.findUser("Alice"));
+        appRunner.addEventToStudent(appRunner.findEvent("Tech Talk 2025"), appRunner.findUser("Alice"));
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(Paths.get(TEST_FILE));
+    }
+
+    /**
+     * Tests writing a binary snapshot and reading it back.
+     */
+    @Test
+    public void testWriteAndRead() {
+        try {
+            writer.open();
+            writer.write(appRunner);
+            writer.close();
+
+            TechEventsHubAppRunner loaded = new BinaryReader(TEST_FILE).read();
+            checkTechEvents(2, loaded.getAppEvents());
+            Event talk = loaded.findEvent("Tech Talk 2025");
+            checkEvent("Tech Talk 2025", "UBC Tech Club", 5, "14:00", "http://techtalk2025.com", talk);
+            assertEquals(appRunner.findEvent("Tech Talk 2025").getId(), talk.getId());
+
+            checkUsers(2, loaded.getAppUsers());
+            User alice = loaded.getAppUsers().findUser("Alice");
+            checkUser("Alice", "Student", alice);
+            assertSame(loaded.findEvent("AI Workshop"), alice.getEvents().getEventAtIndex(0));
+            assertSame(talk, alice.getEvents().getEventAtIndex(1));
+            checkUser("Bob", "Student", loaded.getAppUsers().getUsers().get(1));
+        } catch (IOException e) {
+            fail("Exception should not be thrown");
+        }
+    }
+
+    /**
+     * Tests that an event removed from the catalog after a user added it stays in that user's
+     * calendar, but not in the catalog, across a save and load.
+     */
+    @Test
+    public void testRemovedEventStaysInCalendar() throws IOException {
+        appRunner.addUser("Carol", "Student");
+        appRunner.addEventToStudent(appRunner.findEvent("AI Workshop"), appRunner.findUser("Carol"));
+        appRunner.addEvent("Demo Day", "Startup Lab", 20, "18:30", "http://demoday.com");
+        appRunner.addEventToStudent(appRunner.findEvent("Demo Day"), appRunner.findUser("Carol"));
+        appRunner.removeEvent("Demo Day");
+        appRunner.removeEvent("AI Workshop");
+        writer.open();
+        writer.write(appRunner);
+        writer.close();
+
+        TechEventsHubAppRunner loaded = new BinaryReader(TEST_FILE).read();
+        checkTechEvents(1, loaded.getAppEvents());
+        assertNull(loaded.findEvent("Demo Day"));
+        Event workshop = loaded.findUser("Alice").getEvents().getEventAtIndex(0);
+        checkEvent("AI Workshop", "UBC Tech Club", 10, "14:00", "http://aiworkshop.com", workshop);
+        User carol = loaded.findUser("Carol");
+        assertSame(workshop, carol.getEvents().getEventAtIndex(0));
+        checkEvent("Demo Day", "Startup Lab", 20, "18:30", "http://demoday.com",
+                carol.getEvents().getEventAtIndex(1));
+    }
+
+    /**
+     * Tests that missing, foreign and damaged files are rejected.
+     */
+    @Test
+    public void testReadRejectsBadFiles() throws IOException {
+        assertThrows(IOException.class, () -> new BinaryReader("./data/noSuchFile.bin").read());
+        assertThrows(IOException.class, () -> new BinaryReader("./data/testReader.json").read());
+
+        writer.open();
+        writer.write(appRunner);
+        writer.close();
+        byte[] bytes = Files.readAllBytes(Paths.get(TEST_FILE));
+        int i = new String(bytes, StandardCharsets.ISO_8859_1).indexOf("Alice");
+        bytes[i] = 'X';
+        Files.write(Paths.get(TEST_FILE), bytes);
+        assertThrows(IOException.class, () -> new BinaryReader(TEST_FILE).read());
+    }
+
+    /**
+     * Tests the behavior when trying to write to an invalid file path.
+     */
+    @Test
+    public void testFileNotFound() {
+        assertThrows(FileNotFoundException.class, () -> new BinaryWriter("./invalid/file/path.bin").open());
+    }
+
+    /**
+     * Tests that a failed write removes the temporary file and leaves the destination untouched.
+     */
+    @Test
+    public void testFailedWriteRemovesTemporaryFile() throws IOException {
+        TechEventsHubAppRunner failing = new TechEventsHubAppRunner() {
+            @Override
+            public List<Event> getCalendarOnlyEvents() {
+                throw new UncheckedIOException(new IOException("disk full"));
+            }
+        };
+        writer.open();
+        assertTrue(new File(TEST_FILE + ".tmp").exists());
+        assertThrows(UncheckedIOException.class, () -> writer.write(failing));
+        assertFalse(new File(TEST_FILE + ".tmp").exists());
+    }
+}
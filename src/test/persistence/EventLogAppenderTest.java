@@ -0,0 +1,138 @@
+package persistence;
+
+import model.EventLog;
+import model.EventTracker;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the EventLogAppender class. Entries are logged, flushed to a test directory
+ * and read back from the log files.
+ */
+public class EventLogAppenderTest {
+
+    private static final String TEST_DIRECTORY = "./data/testEventLogAppender";
+    private EventLogAppender appender;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        deleteTestDirectory();
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        if (appender != null) {
+            appender.close();
+        }
+        deleteTestDirectory();
+    }
+
+    private void deleteTestDirectory() throws IOException {
+        for (Path p : logFiles()) {
+            Files.delete(p);
+        }
+        Files.deleteIfExists(Paths.get(TEST_DIRECTORY));
+    }
+
+    private List<Path> logFiles() throws IOException {
+        if (!Files.isDirectory(Paths.get(TEST_DIRECTORY))) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(Paths.get(TEST_DIRECTORY))) {
+            return files.sorted().collect(Collectors.toList());
+        }
+    }
+
+    private String readAll() throws IOException {
+        StringBuilder text = new StringBuilder();
+        for (Path p : logFiles()) {
+            text.append(new String(Files.readAllBytes(p), StandardCharsets.UTF_8));
+        }
+        return text.toString();
+    }
+
+    /**
+     * Tests that flush() writes the entries logged so far, once each.
+     */
+    @Test
+    public void testFlushWritesEntriesOnce() throws IOException {
+        appender = new EventLogAppender(TEST_DIRECTORY);
+        EventLog.getInstance().logEvent(new EventTracker("Appender entry A"));
+        EventLog.getInstance().logEvent(new EventTracker("Appender entry B"));
+        appender.flush();
+        appender.flush();
+
+        String text = readAll();
+        assertEquals(1, logFiles().size());
+        assertTrue(text.indexOf("Appender entry A") < text.indexOf("Appender entry B"));
+        assertEquals(text.indexOf("Appender entry B"), text.lastIndexOf("Appender entry B"));
+    }
+
+    /**
+     * Tests that a full log file is rotated before the next batch is written.
+     */
+    @Test
+    public void testRotationBySize() throws IOException {
+        appender = new EventLogAppender(TEST_DIRECTORY, 1, Long.MAX_VALUE);
+        EventLog.getInstance().logEvent(new EventTracker("Rotated entry 1"));
+        appender.flush();
+        EventLog.getInstance().logEvent(new EventTracker("Rotated entry 2"));
+        appender.flush();
+
+        List<Path> files = logFiles();
+        assertEquals(2, files.size());
+        assertTrue(new String(Files.readAllBytes(files.get(1)), StandardCharsets.UTF_8).contains("Rotated entry 2"));
+        assertFalse(new String(Files.readAllBytes(files.get(1)), StandardCharsets.UTF_8).contains("Rotated entry 1"));
+    }
+
+    /**
+     * Tests that rotation deletes the oldest log files, including those of earlier runs, beyond the
+     * file limit.
+     */
+    @Test
+    public void testRotationKeepsAtMostMaxFiles() throws IOException {
+        Files.createDirectories(Paths.get(TEST_DIRECTORY));
+        Path earlierRun = Files.createFile(Paths.get(TEST_DIRECTORY, "eventlog-1000-0.log"));
+        appender = new EventLogAppender(TEST_DIRECTORY, 1, Long.MAX_VALUE, 2);
+        for (int i = 1; i <= 4; i++) {
+            EventLog.getInstance().logEvent(new EventTracker("Retained entry " + i));
+            appender.flush();
+        }
+
+        List<Path> files = logFiles();
+        assertEquals(2, files.size());
+        assertFalse(files.contains(earlierRun));
+        assertTrue(new String(Files.readAllBytes(files.get(1)), StandardCharsets.UTF_8).contains("Retained entry 4"));
+        assertTrue(new String(Files.readAllBytes(files.get(0)), StandardCharsets.UTF_8).contains("Retained entry 3"));
+    }
+
+    /**
+     * Tests that the background thread drains the log and close() flushes what is left.
+     */
+    @Test
+    public void testBackgroundThreadAndClose() throws IOException {
+        appender = new EventLogAppender(TEST_DIRECTORY);
+        appender.start();
+        for (int i = 0; i < 100; i++) {
+            EventLog.getInstance().logEvent(new EventTracker("Background entry " + i));
+        }
+        appender.close();
+        appender = null;
+
+        String text = readAll();
+        assertTrue(text.contains("Background entry 0\n"));
+        assertTrue(text.contains("Background entry 99\n"));
+    }
+}
@@ -0,0 +1,197 @@
+package persistence;
+
+import model.Event;
+import model.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ui.TechEventsHubAppRunner;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the Journal class. Mutations made on a runner with a journal attached
+ * are replayed onto a second runner and compared.
+ */
+public class JournalTest {
+
+    private static final String TEST_FILE = "./data/testJournal.journal";
+    private Journal journal;
+    private TechEventsHubAppRunner appRunner;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        Files.deleteIfExists(Paths.get(TEST_FILE));
+        journal = new Journal(TEST_FILE);
+        appRunner = new TechEventsHubAppRunner();
+        appRunner.setJournal(journal);
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(Paths.get(TEST_FILE));
+    }
+
+    /**
+     * Tests that every journaled mutation is replayed in order.
+     */
+    @Test
+    public void testReplayRebuildsState() throws IOException {
+        appRunner.addEvent("Tech Talk", "UBC Tech Club", 5, "14:00", "http://techtalk.com");
+        appRunner.addEvent("AI Workshop", "AI Society", 10, "09:00", "http://aiworkshop.com");
+        appRunner.addUser("Alice", "Student");
+        appRunner.addEventToStudent(appRunner.findEvent("Tech Talk"), appRunner.findUser("Alice"));
+        appRunner.removeEvent("AI Workshop");
+        journal.sync();
+        assertEquals(5, journal.getEntryCount());
+
+        TechEventsHubAppRunner replayed = new TechEventsHubAppRunner();
+        Journal reopened = new Journal(TEST_FILE);
+        reopened.replay(replayed);
+
+        assertEquals(5, reopened.getEntryCount());
+        assertEquals(1, replayed.getAppEvents().getTotalNumberOfEvents());
+        assertNull(replayed.findEvent("AI Workshop"));
+        Event talk = replayed.findEvent("Tech Talk");
+        assertEquals(appRunner.findEvent("Tech Talk").getId(), talk.getId());
+        User alice = replayed.getAppUsers().findUser("Alice");
+        assertSame(talk, alice.getEvents().getEventAtIndex(0));
+    }
+
+    /**
+     * Tests that an edited event gets its new details back when the journal is replayed.
+     */
+    @Test
+    public void testReplayRestoresEdits() throws IOException {
+        appRunner.addEvent("Tech Talk", "UBC Tech Club", 5, "14:00", "http://techtalk.com");
+        appRunner.updateEvent(appRunner.findEvent("Tech Talk"), "CS Club", "16:00", "http://cs.com");
+        journal.sync();
+
+        TechEventsHubAppRunner replayed = new TechEventsHubAppRunner();
+        Journal reopened = new Journal(TEST_FILE);
+        reopened.replay(replayed);
+
+        assertEquals(2, reopened.getEntryCount());
+        Event talk = replayed.findEvent("Tech Talk");
+        assertEquals("CS Club", talk.getOrganizer());
+        assertEquals("16:00", talk.getTime());
+        assertEquals("http://cs.com", talk.getUrl());
+    }
+
+    /**
+     * Tests that concurrent writers and readers leave the runner and its journal consistent.
+     */
+    @Test
+    public void testConcurrentWritersAndReaders() throws Exception {
+        int writers = 4;
+        int eventsPerWriter = 250;
+        List<Thread> threads = new ArrayList<>();
+        AtomicBoolean readerFailed = new AtomicBoolean(false);
+        for (int w = 0; w < writers; w++) {
+            int writer = w;
+            threads.add(new Thread(() -> {
+                User u = appRunner.findUser("Writer " + writer);
+                for (int i = 0; i < eventsPerWriter; i++) {
+                    appRunner.addEvent("Event " + writer + "-" + i, "Club", i % 366, "10:00", "http://e.com");
+                    appRunner.addEventToStudent(appRunner.findEvent("Event " + writer + "-" + i), u);
+                }
+            }));
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < eventsPerWriter; i++) {
+                    try {
+                        appRunner.findEvent("Event 0-" + i);
+                        appRunner.returnFilteredEventsByDayRange(0, 365);
+                        appRunner.findUser("Writer 0").getEvents().getTotalNumberOfEvents();
+                    } catch (RuntimeException e) {
+                        readerFailed.set(true);
+                    }
+                }
+            }));
+        }
+        for (Thread t : threads) {
+            t.start();
+        }
+        for (Thread t : threads) {
+            t.join();
+        }
+        journal.sync();
+
+        assertFalse(readerFailed.get());
+        assertEquals(writers * eventsPerWriter, appRunner.getAppEvents().getTotalNumberOfEvents());
+        TechEventsHubAppRunner replayed = new TechEventsHubAppRunner();
+        new Journal(TEST_FILE).replay(replayed);
+        assertEquals(writers * eventsPerWriter, replayed.getAppEvents().getTotalNumberOfEvents());
+        assertEquals(writers, replayed.getAppUsers().getNumberOfUsers());
+        assertEquals(eventsPerWriter, replayed.getAppUsers().findUser("Writer 3").getEvents().getTotalNumberOfEvents());
+    }
+
+    /**
+     * Tests that replaying onto a state that already holds the changes does not duplicate them.
+     */
+    @Test
+    public void testReplayIsIdempotent() throws IOException {
+        appRunner.addEvent("Tech Talk", "UBC Tech Club", 5, "14:00", "http://techtalk.com");
+        appRunner.addUser("Alice", "Student");
+        appRunner.addEventToStudent(appRunner.findEvent("Tech Talk"), appRunner.findUser("Alice"));
+        appRunner.setJournal(null);
+
+        new Journal(TEST_FILE).replay(appRunner);
+        assertEquals(1, appRunner.getAppEvents().getTotalNumberOfEvents());
+        assertEquals(1, appRunner.getAppUsers().getNumberOfUsers());
+        assertEquals(1, appRunner.findUser("Alice").getEvents().getTotalNumberOfEvents());
+    }
+
+    /**
+     * Tests that a record torn by a crash is dropped and later appends still replay.
+     */
+    @Test
+    public void testTornRecordIsCutOff() throws IOException {
+        appRunner.addUser("Alice", "Student");
+        Files.write(Paths.get(TEST_FILE), "{\"op\":\"addUs".getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.APPEND);
+
+        TechEventsHubAppRunner replayed = new TechEventsHubAppRunner();
+        Journal reopened = new Journal(TEST_FILE);
+        reopened.replay(replayed);
+        assertEquals(1, reopened.getEntryCount());
+
+        replayed.setJournal(reopened);
+        replayed.addUser("Bob", "Student");
+        TechEventsHubAppRunner again = new TechEventsHubAppRunner();
+        new Journal(TEST_FILE).replay(again);
+        assertEquals(2, again.getAppUsers().getNumberOfUsers());
+    }
+
+    /**
+     * Tests that reset empties the journal.
+     */
+    @Test
+    public void testReset() throws IOException {
+        appRunner.addUser("Alice", "Student");
+        journal.reset();
+        assertEquals(0, journal.getEntryCount());
+
+        TechEventsHubAppRunner replayed = new TechEventsHubAppRunner();
+        new Journal(TEST_FILE).replay(replayed);
+        assertEquals(0, replayed.getAppUsers().getNumberOfUsers());
+    }
+
+    /**
+     * Tests that a missing journal replays nothing.
+     */
+    @Test
+    public void testReplayMissingFile() throws IOException {
+        TechEventsHubAppRunner replayed = new TechEventsHubAppRunner();
+        new Journal("./data/noSuchJournal.journal").replay(replayed);
+        assertEquals(0, replayed.getAppEvents().getTotalNumberOfEvents());
+    }
+}
@@ -10,6 +10,9 @@ import model.Event;
 
 
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -89,6 +92,98 @@ class JsonReaderTest extends JsonTest {
         }
     }
 
+    /**
+     * Tests that the streaming mode builds the same data as the tree mode, including
+     * a file where users are listed before the event catalog.
+     */
+    @Test
+    void testReaderStreamingGeneralData() {
+        JsonReader reader = new JsonReader("./data/testReader.json");
+        try {
+            TechEventsHubAppRunner appRunner = reader.readStreaming();
+            Users users = appRunner.getAppUsers();
+            assertEquals(1, users.getNumberOfUsers());
+            User user1 = users.findUser("Alice");
+            assertEquals("Developer", user1.getCategory());
+            assertEquals(1, user1.getEvents().getTotalNumberOfEvents());
+            assertSame(appRunner.findEvent("Tech Talk"), user1.getEvents().getEventAtIndex(0));
+
+            TechEvents techEvents = appRunner.getAppEvents();
+            assertEquals(2, techEvents.getTotalNumberOfEvents());
+            checkEvent("Tech Talk", "Organizer1", techEvents.getEventAtIndex(0));
+            checkEvent("Hackathon", "Organizer2", techEvents.getEventAtIndex(1));
+        } catch (IOException e) {
+            fail("Couldn't read from file");
+        }
+    }
+
+    /**
+     * Tests the streaming mode on empty and missing files.
+     */
+    @Test
+    void testReaderStreamingEmptyAndMissingFile() {
+        try {
+            TechEventsHubAppRunner appRunner = new JsonReader("./data/testReaderEmptyFile.json").readStreaming();
+            assertEquals(0, appRunner.getAppUsers().getNumberOfUsers());
+            assertEquals(0, appRunner.getAppEvents().getTotalNumberOfEvents());
+        } catch (IOException e) {
+            fail("Couldn't read from file");
+        }
+        try {
+            new JsonReader("./data/noSuchFile.json").readStreaming();
+            fail("IOException expected");
+        } catch (IOException e) {
+            // Passes as IOException is expected
+        }
+    }
+
+    /**
+     * Tests that an older save file whose calendars embed an event missing from the catalog keeps
+     * that event in the calendars, as one shared instance, without adding it to the catalog.
+     */
+    @Test
+    void testLegacyCalendarOnlyEventStaysOutOfCatalog() throws IOException {
+        String removed = "{\"name\": \"Demo Day\", \"organizer\": \"Startup Lab\", \"day\": 3, "
+                + "\"time\": \"6:00 PM\", \"url\": \"http://demoday.com\"}";
+        String calendar = "\"category\": \"Student\", \"events\": {\"listofevents\": [" + removed + "]}}";
+        Path file = Files.createTempFile("legacy", ".json");
+        Files.writeString(file, "{\"appEvents\": {\"listofevents\": []}, \"appUsers\": {\"users\": ["
+                + "{\"name\": \"Alice\", " + calendar + ", {\"name\": \"Bob\", " + calendar + "]}}");
+        try {
+            for (TechEventsHubAppRunner appRunner : Arrays.asList(new JsonReader(file.toString()).read(),
+                    new JsonReader(file.toString()).readStreaming())) {
+                assertEquals(0, appRunner.getAppEvents().getTotalNumberOfEvents());
+                Event kept = appRunner.findUser("Alice").getEvents().getEventAtIndex(0);
+                checkEvent("Demo Day", "Startup Lab", kept);
+                assertSame(kept, appRunner.findUser("Bob").getEvents().getEventAtIndex(0));
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    /**
+     * Tests that the streaming mode skips members it does not know, of any shape, and reads a file
+     * listing its users before the events their calendars refer to by ID.
+     */
+    @Test
+    void testReaderStreamingSkipsUnknownMembers() throws IOException {
+        Path file = Files.createTempFile("usersFirst", ".json");
+        Files.writeString(file, "{\"version\": 3, \"appUsers\": {\"users\": [{\"name\": \"Alice\", "
+                + "\"category\": \"Student\", \"eventids\": [7]}], \"count\": 1}, "
+                + "\"notes\": [\"a]\", {\"b\": [1.5, true, null, \"}\"]}], \"appEvents\": {\"listofevents\": ["
+                + "{\"id\": 7, \"name\": \"Hackathon\", \"organizer\": \"Organizer2\", \"day\": 2, "
+                + "\"time\": \"1:00 PM\", \"url\": \"http://example2.com\"}]}}");
+        try {
+            TechEventsHubAppRunner appRunner = new JsonReader(file.toString()).readStreaming();
+            assertEquals(1, appRunner.getAppEvents().getTotalNumberOfEvents());
+            assertSame(appRunner.findEvent("Hackathon"),
+                    appRunner.findUser("Alice").getEvents().getEventAtIndex(0));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
     /**
      * Helper method to check event details.
      * 
@@ -2,11 +2,19 @@ package persistence;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import model.Event;
+import org.json.JSONObject;
 import ui.TechEventsHubAppRunner;
 
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -95,4 +103,129 @@ public class JsonWriterTest {
             // Expected behavior
         }
     }
+
+    /**
+     * Tests that user calendars are written as event ID references and read back
+     * as the same instances held by the global event catalog.
+     */
+    @Test
+    public void testCalendarEventsShareCatalogInstances() {
+        try {
+            writer.open();
+            writer.write(appRunner);
+            writer.close();
+
+            TechEventsHubAppRunner loadedAppRunner = new JsonReader(TEST_FILE).read();
+            Event catalogEvent = loadedAppRunner.findEvent("Tech Talk 2025");
+            Event calendarEvent = loadedAppRunner.findUser("Alice").getEvents().getEventAtIndex(0);
+            assertSame(catalogEvent, calendarEvent);
+            assertEquals(appRunner.findEvent("Tech Talk 2025").getId(), catalogEvent.getId());
+        } catch (IOException e) {
+            fail("Exception should not be thrown");
+        }
+    }
+
+    /**
+     * Tests that an event removed from the catalog after a user added it stays in that user's
+     * calendar, but not in the catalog, across a save and load in both read modes.
+     */
+    @Test
+    public void testRemovedEventStaysInCalendar() {
+        try {
+            Event removed = appRunner.findEvent("Tech Talk 2025");
+            appRunner.removeEvent("Tech Talk 2025");
+            writer.open();
+            writer.write(appRunner);
+            writer.close();
+
+            for (TechEventsHubAppRunner loaded : Arrays.asList(new JsonReader(TEST_FILE).read(),
+                    new JsonReader(TEST_FILE).readStreaming())) {
+                assertNull(loaded.findEvent("Tech Talk 2025"));
+                assertEquals(1, loaded.getAppEvents().getTotalNumberOfEvents());
+                Event kept = loaded.findUser("Alice").getEvents().getEventAtIndex(0);
+                assertEquals(removed.getId(), kept.getId());
+                assertEquals("Tech Talk 2025", kept.getName());
+            }
+        } catch (IOException e) {
+            fail("Exception should not be thrown");
+        }
+    }
+
+    /**
+     * Tests that the streamed document holds the same data as the JSONObject tree.
+     */
+    @Test
+    public void testStreamedOutputMatchesTree() {
+        try {
+            writer.open();
+            writer.write(appRunner);
+            writer.close();
+
+            String content = new String(Files.readAllBytes(Paths.get(TEST_FILE)), StandardCharsets.UTF_8);
+            assertTrue(new JSONObject(content).similar(appRunner.toJson()));
+        } catch (IOException e) {
+            fail("Exception should not be thrown");
+        }
+    }
+
+    /**
+     * Tests that the file is replaced atomically and that a damaged file is rejected by its checksum.
+     */
+    @Test
+    public void testChecksumDetectsDamagedFile() {
+        try {
+            writer.open();
+            writer.write(appRunner);
+            writer.close();
+            assertFalse(new File(TEST_FILE + ".tmp").exists());
+
+            byte[] bytes = Files.readAllBytes(Paths.get(TEST_FILE));
+            int i = new String(bytes, StandardCharsets.UTF_8).indexOf("Tech Talk 2025");
+            bytes[i] = 'X';
+            Files.write(Paths.get(TEST_FILE), bytes);
+
+            assertThrows(IOException.class, () -> new JsonReader(TEST_FILE).read());
+            assertThrows(IOException.class, () -> new JsonReader(TEST_FILE).readStreaming());
+
+            Files.write(Paths.get(TEST_FILE), Arrays.copyOf(bytes, bytes.length - 5));
+            assertThrows(IOException.class, () -> new JsonReader(TEST_FILE).readStreaming());
+        } catch (IOException e) {
+            fail("Exception should not be thrown");
+        }
+    }
+
+    /**
+     * Tests that a failed write removes the temporary file and leaves the destination untouched.
+     */
+    @Test
+    public void testFailedWriteRemovesTemporaryFile() throws IOException {
+        TechEventsHubAppRunner failing = new TechEventsHubAppRunner() {
+            @Override
+            public List<Event> getCalendarOnlyEvents() {
+                throw new UncheckedIOException(new IOException("disk full"));
+            }
+        };
+        writer.open();
+        assertTrue(new File(TEST_FILE + ".tmp").exists());
+        assertThrows(UncheckedIOException.class, () -> writer.write(failing));
+        assertFalse(new File(TEST_FILE + ".tmp").exists());
+    }
+
+    /**
+     * Tests that an exported file is a plain JSON document that JsonReader also reads back.
+     */
+    @Test
+    public void testExportIsPlainJson() throws IOException {
+        JsonWriter exporter = JsonWriter.forExport(TEST_FILE);
+        exporter.open();
+        exporter.write(appRunner);
+        exporter.close();
+
+        String content = new String(Files.readAllBytes(Paths.get(TEST_FILE)), StandardCharsets.UTF_8);
+        assertFalse(content.contains("#checksum"));
+        assertTrue(new JSONObject(content).similar(appRunner.toJson()));
+        TechEventsHubAppRunner imported = new JsonReader(TEST_FILE).readStreaming();
+        assertEquals(2, imported.getAppEvents().getTotalNumberOfEvents());
+        assertEquals(1, imported.findUser("Alice").getEvents().getTotalNumberOfEvents());
+    }
 }
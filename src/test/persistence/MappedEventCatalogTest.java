@@ -0,0 +1,92 @@
+package persistence;
+
+import model.Event;
+import model.TechEvents;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for MappedEventCatalog. A TechEvents catalog is written to a catalog file, mapped,
+ * and queried through the same methods as TechEvents.
+ */
+public class MappedEventCatalogTest extends JsonTest {
+
+    private static final String TEST_FILE = "./data/testCatalog.map";
+    private TechEvents techEvents;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        techEvents = new TechEvents();
+        techEvents.addEvent(new Event("Conference", "Biz Org", 10, "10:00 AM", "http://conference.com"));
+        techEvents.addEvent(new Event("Hackathon", "Tech Org", 3, "09:00 AM", "http://hack.com"));
+        techEvents.addEvent(new Event("Reunion", "Biz Org", 400, "10:00 AM", "http://reunion.com"));
+        techEvents.addEvent(new Event("Workshop", "Tech Org", 3, "01:00 PM", "http://workshop.com"));
+        MappedEventCatalog.write(techEvents, TEST_FILE);
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(Paths.get(TEST_FILE));
+    }
+
+    @Test
+    public void testReadingDoesNotReserveIds() throws IOException {
+        long farId = Long.MAX_VALUE / 2;
+        TechEvents distant = new TechEvents();
+        distant.addEvent(Event.view(farId, "Summit", "Tech Org", 20, "11:00 AM", "http://summit.com"));
+        MappedEventCatalog.write(distant, TEST_FILE);
+
+        MappedEventCatalog catalog = MappedEventCatalog.open(TEST_FILE);
+        assertEquals(farId, catalog.getEventAtIndex(0).getId());
+        assertEquals(farId, catalog.findEventWithGivenName("Summit").getId());
+        assertTrue(new Event("Meetup", 4).getId() < farId);
+    }
+
+    @Test
+    public void testGetEventAtIndex() throws IOException {
+        MappedEventCatalog catalog = MappedEventCatalog.open(TEST_FILE);
+        assertEquals(4, catalog.getTotalNumberOfEvents());
+        Event e = catalog.getEventAtIndex(1);
+        checkEvent("Hackathon", "Tech Org", 3, "09:00 AM", "http://hack.com", e);
+        assertEquals(techEvents.getEventAtIndex(1).getId(), e.getId());
+        assertThrows(IndexOutOfBoundsException.class, () -> catalog.getEventAtIndex(4));
+    }
+
+    @Test
+    public void testFindEventWithGivenName() throws IOException {
+        MappedEventCatalog catalog = MappedEventCatalog.open(TEST_FILE);
+        checkEvent("Workshop", "Tech Org", 3, "01:00 PM", "http://workshop.com",
+                catalog.findEventWithGivenName("Workshop"));
+        assertEquals("Reunion", catalog.findEventWithGivenName("Reunion").getName());
+        assertNull(catalog.findEventWithGivenName("Non-Existent Event"));
+    }
+
+    @Test
+    public void testFindEventsInRange() throws IOException {
+        MappedEventCatalog catalog = MappedEventCatalog.open(TEST_FILE);
+        List<Event> inRange = catalog.findEventsInRange(0, 365);
+        assertEquals(3, inRange.size());
+        assertEquals("Hackathon", inRange.get(0).getName());
+        assertEquals("Workshop", inRange.get(1).getName());
+        assertEquals("Conference", inRange.get(2).getName());
+
+        assertEquals(0, catalog.findEventsInRange(4, 9).size());
+        List<Event> beyondYear = catalog.findEventsInRange(10, 500);
+        assertEquals(2, beyondYear.size());
+        assertEquals("Reunion", beyondYear.get(1).getName());
+    }
+
+    @Test
+    public void testOpenRejectsOtherFiles() {
+        assertThrows(IOException.class, () -> MappedEventCatalog.open("./data/noSuchFile.map"));
+        assertThrows(IOException.class, () -> MappedEventCatalog.open("./data/testReader.json"));
+    }
+}
@@ -0,0 +1,132 @@
+package ui;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.swing.SwingUtilities;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the BackgroundTask class. Each test waits for the task's outcome to reach the
+ * Event Dispatch Thread before checking it.
+ */
+public class BackgroundTaskTest {
+
+    // Effects: waits until every event queued on the EDT so far has been dispatched.
+    private static void drainEventQueue() throws Exception {
+        SwingUtilities.invokeAndWait(() -> { });
+    }
+
+    @Test
+    public void testResultIsDeliveredOnTheEventDispatchThread() throws Exception {
+        AtomicReference<String> result = new AtomicReference<>();
+        AtomicBoolean onEdt = new AtomicBoolean();
+        AtomicBoolean workOnEdt = new AtomicBoolean(true);
+        CountDownLatch delivered = new CountDownLatch(1);
+        new BackgroundTask<>(progress -> {
+            workOnEdt.set(SwingUtilities.isEventDispatchThread());
+            return "done";
+        }, value -> {
+            result.set(value);
+            onEdt.set(SwingUtilities.isEventDispatchThread());
+            delivered.countDown();
+        }, e -> fail(e)).execute();
+
+        assertTrue(delivered.await(5, TimeUnit.SECONDS));
+        assertEquals("done", result.get());
+        assertTrue(onEdt.get());
+        assertFalse(workOnEdt.get());
+    }
+
+    @Test
+    public void testFailureIsDelivered() throws Exception {
+        AtomicReference<Exception> failure = new AtomicReference<>();
+        CountDownLatch delivered = new CountDownLatch(1);
+        new BackgroundTask<String>(progress -> {
+            throw new IllegalStateException("broken");
+        }, value -> fail("unexpected result"), e -> {
+            failure.set(e);
+            delivered.countDown();
+        }).execute();
+
+        assertTrue(delivered.await(5, TimeUnit.SECONDS));
+        assertTrue(failure.get() instanceof IllegalStateException);
+        assertEquals("broken", failure.get().getMessage());
+    }
+
+    @Test
+    public void testProgressAndStagesAreReported() throws Exception {
+        List<String> stages = new ArrayList<>();
+        List<Integer> percents = new ArrayList<>();
+        CountDownLatch delivered = new CountDownLatch(1);
+        BackgroundTask<Void> task = new BackgroundTask<>(progress -> {
+            progress.report(50, "Halfway");
+            progress.report(150, "Finishing");
+            return null;
+        }, value -> delivered.countDown(), e -> fail(e));
+        task.setStageListener(stages::add);
+        task.addPropertyChangeListener(e -> {
+            if ("progress".equals(e.getPropertyName())) {
+                percents.add((Integer) e.getNewValue());
+            }
+        });
+        task.execute();
+
+        assertTrue(delivered.await(5, TimeUnit.SECONDS));
+        drainEventQueue();
+        assertEquals("Finishing", stages.get(stages.size() - 1));
+        assertEquals(100, percents.get(percents.size() - 1));
+    }
+
+    @Test
+    public void testCancelledTaskStopsAndDropsItsResult() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch finished = new CountDownLatch(1);
+        AtomicBoolean delivered = new AtomicBoolean();
+        BackgroundTask<String> task = new BackgroundTask<>(progress -> {
+            started.countDown();
+            while (!progress.isCancelled()) {
+                Thread.onSpinWait();
+            }
+            finished.countDown();
+            return "stale";
+        }, value -> delivered.set(true), e -> delivered.set(true));
+        task.execute();
+
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        task.cancel(false);
+        assertTrue(finished.await(5, TimeUnit.SECONDS));
+        drainEventQueue();
+        assertTrue(task.isCancelled());
+        assertFalse(delivered.get());
+    }
+
+    @Test
+    public void testStoppedTaskIsDoneOnlyOnceItsWorkReturns() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicBoolean delivered = new AtomicBoolean();
+        BackgroundTask<String> task = new BackgroundTask<>(progress -> {
+            started.countDown();
+            release.await();
+            return progress.isCancelled() ? "stopped" : "finished";
+        }, value -> delivered.set(true), e -> delivered.set(true));
+        task.execute();
+
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        task.stop();
+        Thread.sleep(50);
+        assertFalse(task.isDone());
+        release.countDown();
+        assertEquals("stopped", task.get(5, TimeUnit.SECONDS));
+        drainEventQueue();
+        assertFalse(delivered.get());
+    }
+}
@@ -0,0 +1,199 @@
+package ui;
+
+import model.CatalogChange;
+import model.Event;
+import model.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the CommandPipeline class. Commands are submitted from test threads and their
+ * effects checked on the runner once their futures complete.
+ */
+public class CommandPipelineTest {
+
+    private TechEventsHubAppRunner appRunner;
+    private AtomicInteger commits;
+    private CommandPipeline pipeline;
+
+    @BeforeEach
+    public void setUp() {
+        appRunner = new TechEventsHubAppRunner();
+        commits = new AtomicInteger();
+        pipeline = new CommandPipeline(appRunner, 16, commits::incrementAndGet);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        pipeline.close();
+    }
+
+    /**
+     * Tests that commands are applied in submission order and their results returned.
+     */
+    @Test
+    public void testCommandsAppliedInOrder() {
+        pipeline.addEvent(new Event("Tech Talk", "UBC Tech Club", 5, "14:00", "http://techtalk.com"));
+        CompletableFuture<User> alice = pipeline.findOrAddUser("Alice");
+        CompletableFuture<Boolean> removed = pipeline.removeEvent("Tech Talk");
+        CompletableFuture<Boolean> removedAgain = pipeline.removeEvent("Tech Talk");
+
+        assertEquals("Alice", alice.join().getName());
+        assertTrue(removed.join());
+        assertFalse(removedAgain.join());
+        assertSame(alice.join(), CommandPipeline.await(pipeline.findOrAddUser("Alice")));
+        assertEquals(0, appRunner.getAppEvents().getTotalNumberOfEvents());
+        assertTrue(commits.get() >= 1);
+    }
+
+    /**
+     * Tests that commands queued behind a slow one are applied as one batch with one group commit,
+     * and that the bounded queue holds back submitters until there is room.
+     */
+    @Test
+    public void testBatchingAndBackpressure() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Object> slow = pipeline.submit(r -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return null;
+        });
+        List<CompletableFuture<Void>> posts = new ArrayList<>();
+        Thread poster = new Thread(() -> {
+            for (int i = 0; i < 40; i++) {
+                posts.add(pipeline.addEvent(new Event("Bulk " + i, "Club", i, "10:00", "http://bulk.com")));
+            }
+        });
+        poster.start();
+        poster.join(200);
+        assertTrue(poster.isAlive(), "Submitter should block while the queue is full");
+
+        release.countDown();
+        poster.join();
+        slow.join();
+        CompletableFuture.allOf(posts.toArray(new CompletableFuture<?>[0])).join();
+        assertEquals(40, appRunner.getAppEvents().getTotalNumberOfEvents());
+        assertEquals("Bulk 39", appRunner.getAppEvents().getEventAtIndex(39).getName());
+        assertTrue(commits.get() < 41, "Queued commands should share group commits");
+    }
+
+    /**
+     * Tests that a failed group commit and a failed command fail their futures.
+     */
+    @Test
+    public void testFailures() {
+        pipeline.close();
+        pipeline = new CommandPipeline(appRunner, 16, () -> {
+            throw new IOException("disk full");
+        });
+        CompletionException e = assertThrows(CompletionException.class, () -> pipeline.findOrAddUser("Bob").join());
+        assertTrue(e.getCause() instanceof IOException);
+        assertThrows(IllegalArgumentException.class, () -> CommandPipeline.await(pipeline.submit(r -> {
+            throw new IllegalArgumentException("bad command");
+        })));
+
+        pipeline.close();
+        assertThrows(IllegalStateException.class, () -> CommandPipeline.await(pipeline.findOrAddUser("Carol")));
+    }
+
+    /**
+     * Tests that a command throwing an Error fails its batch without stopping the writer thread.
+     */
+    @Test
+    public void testErrorDoesNotStopWriter() {
+        assertThrows(AssertionError.class, () -> CommandPipeline.await(pipeline.submit(r -> {
+            throw new AssertionError("broken command");
+        })));
+        assertEquals("Dana", CommandPipeline.await(pipeline.findOrAddUser("Dana")).getName());
+    }
+
+    /**
+     * Tests that every command submitted while the pipeline is being closed is either applied or
+     * failed, so that no caller waits forever.
+     */
+    @Test
+    public void testSubmitRacingCloseAlwaysCompletes() throws InterruptedException {
+        for (int round = 0; round < 200; round++) {
+            CommandPipeline racing = new CommandPipeline(appRunner, 16, () -> { });
+            List<CompletableFuture<User>> results = new ArrayList<>();
+            Thread submitter = new Thread(() -> {
+                for (int i = 0; i < 20; i++) {
+                    results.add(racing.findOrAddUser("User " + i));
+                }
+            });
+            submitter.start();
+            racing.close();
+            submitter.join();
+            for (CompletableFuture<User> result : results) {
+                assertTimeoutPreemptively(Duration.ofSeconds(5), () -> result.handle((u, e) -> u).join());
+            }
+        }
+    }
+
+    /**
+     * Tests that an unlocked command runs after the commands submitted before it, and that readers
+     * can take the read lock while it runs.
+     */
+    @Test
+    public void testUnlockedCommandLetsReadersIn() {
+        pipeline.findOrAddUser("Erin");
+        boolean readerGotIn = CommandPipeline.await(pipeline.submitUnlocked(r -> {
+            assertNotNull(r.getAppUsers().findUser("Erin"));
+            Thread reader = new Thread(() -> r.withReadLock(() -> { }));
+            reader.start();
+            try {
+                reader.join(5000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return !reader.isAlive();
+        }));
+        assertTrue(readerGotIn);
+        assertEquals("Finn", CommandPipeline.await(pipeline.findOrAddUser("Finn")).getName());
+    }
+
+    /**
+     * Tests that an edit updates the event and tells the catalog and each calendar holding it that it changed.
+     */
+    @Test
+    public void testUpdatePublishesChanged() {
+        Event talk = new Event("Tech Talk", "UBC Tech Club", 5, "14:00", "http://techtalk.com");
+        pipeline.addEvent(talk);
+        User alice = CommandPipeline.await(pipeline.findOrAddUser("Alice"));
+        User bob = CommandPipeline.await(pipeline.findOrAddUser("Bob"));
+        CommandPipeline.await(pipeline.addEventToStudent(talk, alice));
+        List<CatalogChange> catalogChanges = new ArrayList<>();
+        List<CatalogChange> aliceChanges = new ArrayList<>();
+        List<CatalogChange> bobChanges = new ArrayList<>();
+        appRunner.getAppEvents().addListener(catalogChanges::add);
+        alice.addCalendarListener(aliceChanges::add);
+        bob.addCalendarListener(bobChanges::add);
+
+        CommandPipeline.await(pipeline.updateEvent(talk, "CS Club", "16:00", "http://cs.com"));
+
+        assertEquals("CS Club", appRunner.findEvent("Tech Talk").getOrganizer());
+        assertEquals("16:00", talk.getTime());
+        assertEquals("http://cs.com", talk.getUrl());
+        assertEquals(1, catalogChanges.size());
+        assertEquals(CatalogChange.Kind.CHANGED, catalogChanges.get(0).getKind());
+        assertEquals(talk.getId(), catalogChanges.get(0).getEventId());
+        assertEquals(1, aliceChanges.size());
+        assertEquals(CatalogChange.Kind.CHANGED, aliceChanges.get(0).getKind());
+        assertTrue(bobChanges.isEmpty());
+    }
+}
@@ -0,0 +1,131 @@
+package ui;
+
+import model.CatalogChange;
+import model.Event;
+import model.TechEvents;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.swing.event.ListDataEvent;
+import javax.swing.event.ListDataListener;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the EventListModel class. The notifications it sends are recorded as
+ * "type:index0-index1" strings.
+ */
+public class EventListModelTest {
+
+    private EventListModel model;
+    private List<String> notifications;
+    private Event e1;
+    private Event e2;
+    private Event e3;
+
+    @BeforeEach
+    public void setUp() {
+        model = new EventListModel();
+        notifications = new ArrayList<>();
+        model.addListDataListener(new ListDataListener() {
+            @Override
+            public void intervalAdded(ListDataEvent e) {
+                record("added", e);
+            }
+
+            @Override
+            public void intervalRemoved(ListDataEvent e) {
+                record("removed", e);
+            }
+
+            @Override
+            public void contentsChanged(ListDataEvent e) {
+                record("changed", e);
+            }
+        });
+        e1 = new Event("Hackathon", 1);
+        e2 = new Event("AI Workshop", 2);
+        e3 = new Event("Career Fair", 3);
+    }
+
+    private void record(String type, ListDataEvent e) {
+        notifications.add(type + ":" + e.getIndex0() + "-" + e.getIndex1());
+    }
+
+    @Test
+    public void testEmptyByDefault() {
+        assertEquals(0, model.getSize());
+    }
+
+    @Test
+    public void testReadsThroughToTheList() {
+        model.setEvents(List.of(e1, e2, e3));
+        assertEquals(3, model.getSize());
+        assertSame(e1, model.getElementAt(0));
+        assertSame(e3, model.getElementAt(2));
+        assertEquals(List.of("added:0-2"), notifications);
+    }
+
+    @Test
+    public void testGrowingReportsChangedAndAddedRows() {
+        model.setEvents(List.of(e1));
+        notifications.clear();
+        model.setEvents(List.of(e2, e3));
+        assertSame(e2, model.getElementAt(0));
+        assertEquals(List.of("changed:0-0", "added:1-1"), notifications);
+    }
+
+    @Test
+    public void testShrinkingReportsChangedAndRemovedRows() {
+        model.setEvents(List.of(e1, e2, e3));
+        notifications.clear();
+        model.setEvents(List.of(e3));
+        assertEquals(1, model.getSize());
+        assertEquals(List.of("changed:0-0", "removed:1-2"), notifications);
+        notifications.clear();
+        model.setEvents(List.of());
+        assertEquals(List.of("removed:0-0"), notifications);
+    }
+
+    @Test
+    public void testFollowedCatalogChangesUpdateOneRow() {
+        TechEvents catalog = new TechEvents();
+        catalog.addEvent(e1);
+        List<CatalogChange> changes = new ArrayList<>();
+        catalog.addListener(changes::add);
+        model.follow(catalog.snapshot());
+        notifications.clear();
+
+        catalog.addEvent(e2);
+        catalog.addEvent(e3);
+        catalog.removeEvent("AI Workshop");
+        catalog.eventChanged(e3.getId());
+        changes.forEach(model::apply);
+
+        assertEquals(List.of("added:1-1", "added:2-2", "removed:1-1", "changed:1-1"), notifications);
+        assertEquals(2, model.getSize());
+        assertSame(e3, model.getElementAt(1));
+    }
+
+    @Test
+    public void testChangesAlreadyInTheSnapshotOrWhileDetachedAreIgnored() {
+        TechEvents catalog = new TechEvents();
+        List<CatalogChange> changes = new ArrayList<>();
+        catalog.addListener(changes::add);
+        catalog.addEvent(e1);
+        model.follow(catalog.snapshot());
+        notifications.clear();
+        changes.forEach(model::apply);
+        assertEquals(List.of(), notifications);
+
+        model.setEvents(List.of(e3));
+        notifications.clear();
+        catalog.addEvent(e2);
+        changes.forEach(model::apply);
+        assertEquals(List.of(), notifications);
+        assertEquals(1, model.getSize());
+    }
+}
@@ -0,0 +1,127 @@
+package ui;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the TechEventsHttpServer class. A server on a free port is driven with the JDK
+ * HTTP client.
+ */
+public class TechEventsHttpServerTest {
+
+    private TechEventsHubAppRunner appRunner;
+    private CommandPipeline pipeline;
+    private TechEventsHttpServer server;
+    private HttpClient client;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        appRunner = new TechEventsHubAppRunner();
+        appRunner.addEvent("Tech Talk", "UBC Tech Club", 5, "14:00", "http://techtalk.com");
+        appRunner.addEvent("AI Workshop", "AI Society", 10, "09:00", "http://aiworkshop.com");
+        pipeline = new CommandPipeline(appRunner, CommandPipeline.DEFAULT_CAPACITY, () -> { });
+        server = new TechEventsHttpServer(appRunner, pipeline, 0);
+        server.start();
+        client = HttpClient.newHttpClient();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        server.stop();
+        pipeline.close();
+    }
+
+    private HttpResponse<String> send(String method, String path, String body) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + server.getPort() + path));
+        request.method(method, body == null ? HttpRequest.BodyPublishers.noBody()
+                : HttpRequest.BodyPublishers.ofString(body));
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    /**
+     * Tests listing, filtering, posting and removing events.
+     */
+    @Test
+    public void testEvents() throws Exception {
+        HttpResponse<String> all = send("GET", "/events", null);
+        assertEquals(200, all.statusCode());
+        assertEquals(2, new JSONObject(all.body()).getJSONArray("events").length());
+
+        JSONArray filtered = new JSONObject(send("GET", "/events?min=6&max=20", null).body()).getJSONArray("events");
+        assertEquals(1, filtered.length());
+        assertEquals("AI Workshop", filtered.getJSONObject(0).getString("name"));
+
+        HttpResponse<String> posted = send("POST", "/events", "{\"name\": \"Career Fair\", \"day\": 7}");
+        assertEquals(201, posted.statusCode());
+        assertEquals(appRunner.findEvent("Career Fair").getId(), new JSONObject(posted.body()).getLong("id"));
+        assertEquals("Career Fair", new JSONObject(send("GET", "/events?name=Career%20Fair", null).body())
+                .getString("name"));
+
+        assertEquals(200, send("DELETE", "/events?name=Tech%20Talk", null).statusCode());
+        assertEquals(404, send("DELETE", "/events?name=Tech%20Talk", null).statusCode());
+        assertNull(appRunner.findEvent("Tech Talk"));
+    }
+
+    /**
+     * Tests finding and creating users and adding events to their calendars.
+     */
+    @Test
+    public void testUsersAndCalendar() throws Exception {
+        assertEquals(404, send("GET", "/users?name=Alice", null).statusCode());
+        assertEquals(200, send("POST", "/users", "{\"name\": \"Alice\"}").statusCode());
+        assertEquals("Student", new JSONObject(send("GET", "/users?name=Alice", null).body()).getString("category"));
+
+        HttpResponse<String> added = send("POST", "/calendar", "{\"user\": \"Alice\", \"event\": \"AI Workshop\"}");
+        assertEquals(200, added.statusCode());
+        JSONArray calendar = new JSONObject(send("GET", "/calendar?user=Alice", null).body()).getJSONArray("events");
+        assertEquals("AI Workshop", calendar.getJSONObject(0).getString("name"));
+        assertEquals(404, send("POST", "/calendar", "{\"user\": \"Alice\", \"event\": \"Nope\"}").statusCode());
+    }
+
+    /**
+     * Tests that bad requests are answered with client errors.
+     */
+    @Test
+    public void testErrors() throws Exception {
+        assertEquals(400, send("POST", "/events", "{\"name\": \"No day\"}").statusCode());
+        assertEquals(400, send("POST", "/events", "not json").statusCode());
+        assertEquals(400, send("GET", "/events?min=abc", null).statusCode());
+        assertEquals(400, send("GET", "/users", null).statusCode());
+        assertEquals(405, send("PUT", "/events", "{}").statusCode());
+    }
+
+    /**
+     * Tests that catalog reads carry an ETag that yields 304 until the catalog changes.
+     */
+    @Test
+    public void testETagsAndNotModified() throws Exception {
+        HttpResponse<String> first = send("GET", "/events?min=0&max=20", null);
+        String etag = first.headers().firstValue("ETag").orElseThrow();
+        HttpResponse<String> again = client.send(HttpRequest.newBuilder(
+                URI.create("http://localhost:" + server.getPort() + "/events?max=20&min=00"))
+                .header("If-None-Match", etag).build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(304, again.statusCode());
+        assertEquals("", again.body());
+        assertEquals(etag, again.headers().firstValue("ETag").orElseThrow());
+
+        send("POST", "/events", "{\"name\": \"Career Fair\", \"day\": 7}");
+        HttpResponse<String> changed = client.send(HttpRequest.newBuilder(
+                URI.create("http://localhost:" + server.getPort() + "/events?min=0&max=20"))
+                .header("If-None-Match", etag).build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, changed.statusCode());
+        assertNotEquals(etag, changed.headers().firstValue("ETag").orElseThrow());
+        assertEquals(3, new JSONObject(changed.body()).getJSONArray("events").length());
+        assertFalse(send("GET", "/calendar?user=Nobody", null).headers().firstValue("ETag").isPresent());
+    }
+}